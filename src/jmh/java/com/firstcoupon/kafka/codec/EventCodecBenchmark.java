@@ -0,0 +1,86 @@
+package com.firstcoupon.kafka.codec;
+
+import com.firstcoupon.domain.CouponIssuedEvent;
+import com.firstcoupon.domain.CouponUsedEvent;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+/*
+    JSON(JsonSerializer/JsonDeserializer)과 바이너리 코덱 비교
+    ./gradlew jmh  →  ns/op, gc.alloc.rate.norm(B/op), 페이로드 크기(setup 출력)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventCodecBenchmark {
+
+    private static final String TOPIC = "coupon-issued";
+
+    private final CouponIssuedEvent issuedEvent =
+            new CouponIssuedEvent("benchmark-user-0001@test.com", 1234567L, "ABCD-EFGH-IJKL-000123");
+    private final CouponUsedEvent usedEvent = new CouponUsedEvent("benchmark-user-0001@test.com", "선착순 할인 쿠폰");
+
+    private JsonSerializer<Object> jsonSerializer;
+    private JsonDeserializer<CouponIssuedEvent> jsonDeserializer;
+    private BinaryEventSerializer binarySerializer;
+    private BinaryEventDeserializer<CouponIssuedEvent> binaryDeserializer;
+    private byte[] jsonIssued;
+    private byte[] binaryIssued;
+
+    @Setup
+    public void setUp() {
+        jsonSerializer = new JsonSerializer<>();
+        jsonSerializer.configure(Map.of(JsonSerializer.ADD_TYPE_INFO_HEADERS, false), false);
+        jsonDeserializer = new JsonDeserializer<>(CouponIssuedEvent.class, false);
+        binarySerializer = new BinaryEventSerializer();
+        binaryDeserializer = new BinaryEventDeserializer<>(CouponIssuedEvent.class, jsonDeserializer);
+
+        jsonIssued = jsonSerializer.serialize(TOPIC, issuedEvent);
+        binaryIssued = binarySerializer.serialize(TOPIC, issuedEvent);
+        System.out.printf("%nCouponIssuedEvent payload: json=%dB, binary=%dB%n", jsonIssued.length, binaryIssued.length);
+        System.out.printf("CouponUsedEvent payload: json=%dB, binary=%dB%n",
+                jsonSerializer.serialize(TOPIC, usedEvent).length, binarySerializer.serialize(TOPIC, usedEvent).length);
+    }
+
+    @TearDown
+    public void tearDown() {
+        jsonSerializer.close();
+        jsonDeserializer.close();
+    }
+
+    @Benchmark
+    public byte[] jsonSerialize() {
+        return jsonSerializer.serialize(TOPIC, issuedEvent);
+    }
+
+    @Benchmark
+    public byte[] binarySerialize() {
+        return binarySerializer.serialize(TOPIC, issuedEvent);
+    }
+
+    @Benchmark
+    public CouponIssuedEvent jsonDeserialize() {
+        return jsonDeserializer.deserialize(TOPIC, jsonIssued);
+    }
+
+    @Benchmark
+    public CouponIssuedEvent binaryDeserialize() {
+        return binaryDeserializer.deserialize(TOPIC, binaryIssued);
+    }
+}
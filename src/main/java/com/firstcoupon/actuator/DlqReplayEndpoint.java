@@ -0,0 +1,24 @@
+package com.firstcoupon.actuator;
+
+import com.firstcoupon.dto.DlqReplayStatus;
+import com.firstcoupon.service.DlqReplayService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/*
+    DLQ 재처리 진행 상황과 처리 속도(/actuator/dlqreplay)
+ */
+@Component
+@Endpoint(id = "dlqreplay")
+@RequiredArgsConstructor
+public class DlqReplayEndpoint {
+
+    private final DlqReplayService dlqReplayService;
+
+    @ReadOperation
+    public DlqReplayStatus status() {
+        return dlqReplayService.getStatus();
+    }
+}
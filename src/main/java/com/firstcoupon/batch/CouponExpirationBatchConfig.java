@@ -1,5 +1,6 @@
 package com.firstcoupon.batch;
 
+import com.firstcoupon.datasource.ReplicaRoutingDataSource;
 import com.firstcoupon.domain.Coupon;
 import com.firstcoupon.domain.IssuedCoupon;
 import com.firstcoupon.service.EmailService;
@@ -21,6 +22,7 @@ import org.springframework.batch.item.database.JdbcPagingItemReader;
 import org.springframework.batch.item.database.Order;
 import org.springframework.batch.item.database.builder.JdbcPagingItemReaderBuilder;
 import org.springframework.batch.item.database.support.MySqlPagingQueryProvider;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -34,6 +36,7 @@ public class CouponExpirationBatchConfig {
     private final JobRepository jobRepository;
     private final PlatformTransactionManager transactionManager;
     private final DataSource dataSource;
+    private final ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource;
     private final EmailService emailService;
 
     @Bean
@@ -58,7 +61,7 @@ public class CouponExpirationBatchConfig {
     public JdbcPagingItemReader<IssuedCoupon> couponPagingItemReader() {
         return new JdbcPagingItemReaderBuilder<IssuedCoupon>()
                 .name("couponPagingItemReader")
-                .dataSource(dataSource)
+                .dataSource(readerDataSource())
                 .fetchSize(100)
                 .rowMapper((rs, rowNum) -> IssuedCoupon.builder()
                         .email(rs.getString("email"))
@@ -79,6 +82,12 @@ public class CouponExpirationBatchConfig {
                 .build();
     }
 
+    //리더는 청크 트랜잭션(읽기/쓰기) 안에서 커넥션을 얻으므로, 라우팅 사용 시 레플리카 전용 데이터소스를 직접 지정
+    private DataSource readerDataSource() {
+        ReplicaRoutingDataSource routing = replicaRoutingDataSource.getIfAvailable();
+        return routing != null ? routing.replicaView() : dataSource;
+    }
+
     @Bean
     public ItemProcessor<IssuedCoupon, IssuedCoupon> couponItemProcessor() {
         return issuedCoupon -> {
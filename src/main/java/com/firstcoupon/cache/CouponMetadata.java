@@ -0,0 +1,39 @@
+package com.firstcoupon.cache;
+
+import com.firstcoupon.domain.Coupon;
+import com.firstcoupon.domain.StockStrategy;
+import java.time.LocalDateTime;
+import lombok.Getter;
+
+/*
+    발급 경로에서 사용하는 쿠폰의 불변 스냅샷
+    엔티티를 캐시에 보관하지 않도록 필요한 값만 복사해 둔다.
+ */
+@Getter
+public class CouponMetadata {
+
+    private final Long id;
+    private final String code;
+    private final int totalQuantity;
+    private final long duration;
+    private final LocalDateTime issueStartTime;
+    private final LocalDateTime issueEndTime;
+    private final StockStrategy stockStrategy;
+    private final int stockShards;
+
+    public CouponMetadata(Coupon coupon) {
+        this.id = coupon.getId();
+        this.code = coupon.getCode();
+        this.totalQuantity = coupon.getTotalQuantity();
+        this.duration = coupon.getDuration();
+        this.issueStartTime = coupon.getIssueStartTime();
+        this.issueEndTime = coupon.getIssueEndTime();
+        this.stockStrategy = coupon.getStockStrategy() == null ? StockStrategy.COUNTER : coupon.getStockStrategy();
+        this.stockShards = Math.max(coupon.getStockShards(), 1);
+    }
+
+    public boolean isIssuable() {
+        LocalDateTime now = LocalDateTime.now();
+        return now.isAfter(issueStartTime) && now.isBefore(issueEndTime);
+    }
+}
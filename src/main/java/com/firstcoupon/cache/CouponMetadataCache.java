@@ -0,0 +1,55 @@
+package com.firstcoupon.cache;
+
+import com.firstcoupon.config.cache.CouponCacheProperties;
+import com.firstcoupon.datasource.DataSourceRoute;
+import com.firstcoupon.exception.InvalidCouponCode;
+import com.firstcoupon.repository.CouponRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CouponMetadataCache {
+
+    private static final String CACHE_NAME = "couponMetadata";
+
+    private final CouponRepository couponRepository;
+    private final Cache<String, CouponMetadata> cache;
+
+    public CouponMetadataCache(CouponRepository couponRepository, CouponCacheProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.couponRepository = couponRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);  //hit/miss 지표를 Prometheus로 노출
+    }
+
+    public CouponMetadata get(String code) {
+        CouponMetadata metadata = cache.get(code, this::load);
+        if (metadata == null) {  //존재하지 않는 쿠폰 코드는 캐시하지 않음
+            throw new InvalidCouponCode();
+        }
+        return metadata;
+    }
+
+    public void evict(String code) {
+        cache.invalidate(code);
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    //조회는 레플리카에서 하고, 없으면 방금 생성되어 아직 복제되지 않은 쿠폰일 수 있으므로 프라이머리에서 다시 조회
+    private CouponMetadata load(String code) {
+        return couponRepository.findByCode(code)
+                .or(() -> DataSourceRoute.onPrimary(() -> couponRepository.findByCode(code)))
+                .map(CouponMetadata::new)
+                .orElse(null);
+    }
+}
@@ -0,0 +1,9 @@
+package com.firstcoupon.config.cache;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(CouponCacheProperties.class)
+public class CacheConfig {
+}
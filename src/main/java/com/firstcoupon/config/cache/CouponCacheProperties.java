@@ -0,0 +1,15 @@
+package com.firstcoupon.config.cache;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coupon.cache.metadata")
+public class CouponCacheProperties {
+
+    private long maximumSize = 1_000;  //캐시에 보관할 최대 쿠폰 수
+    private Duration ttl = Duration.ofMinutes(10);  //쓰기 이후 만료 시간
+}
@@ -0,0 +1,66 @@
+package com.firstcoupon.config.datasource;
+
+import com.firstcoupon.config.datasource.DataSourceRoutingProperties.Node;
+import com.firstcoupon.datasource.ReplicaHealthMonitor;
+import com.firstcoupon.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/*
+    프라이머리/레플리카 라우팅 데이터소스 구성
+    coupon.datasource.routing.enabled=true일 때만 등록되며, 이때 spring.datasource 자동 구성은 사용되지 않는다.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+@ConditionalOnProperty(prefix = "coupon.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceRoutingProperties properties) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            Node replica = properties.getReplicas().get(i);
+            String name = replica.getName() != null ? replica.getName() : "replica-" + i;
+            replicas.put(name, hikari(name, replica, true));
+        }
+        return new ReplicaRoutingDataSource(hikari(ReplicaRoutingDataSource.PRIMARY, properties.getPrimary(), false),
+                replicas);
+    }
+
+    //트랜잭션 시작 시점이 아니라 첫 쿼리 시점에 커넥션을 얻어, readOnly 여부가 라우팅에 반영되도록 함
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaHealthMonitor replicasHealthIndicator(ReplicaRoutingDataSource replicaRoutingDataSource,
+                                                        DataSourceRoutingProperties properties,
+                                                        MeterRegistry meterRegistry) {
+        return new ReplicaHealthMonitor(replicaRoutingDataSource, properties, meterRegistry);
+    }
+
+    private HikariDataSource hikari(String name, Node node, boolean readOnly) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(node.getUrl());
+        dataSource.setUsername(node.getUsername());
+        dataSource.setPassword(node.getPassword());
+        if (node.getDriverClassName() != null) {
+            dataSource.setDriverClassName(node.getDriverClassName());
+        }
+        dataSource.setMaximumPoolSize(node.getMaximumPoolSize());
+        dataSource.setReadOnly(readOnly);
+        return dataSource;
+    }
+}
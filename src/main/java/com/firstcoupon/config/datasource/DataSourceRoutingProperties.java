@@ -0,0 +1,32 @@
+package com.firstcoupon.config.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coupon.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    private boolean enabled = false;  //false면 spring.datasource 단일 데이터소스 사용
+    private Node primary = new Node();
+    private List<Node> replicas = new ArrayList<>();
+    private long healthCheckIntervalMs = 5000;  //레플리카 상태/지연 확인 주기
+    private long maxLagMs = 2000;  //이 값보다 지연된 레플리카에는 읽기를 보내지 않음
+    private String lagQuery;  //지연(초)을 한 컬럼으로 반환하는 쿼리, 없으면 지연은 측정하지 않음
+
+    @Getter
+    @Setter
+    public static class Node {
+
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maximumPoolSize = 10;
+    }
+}
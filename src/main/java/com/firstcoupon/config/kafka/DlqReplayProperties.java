@@ -0,0 +1,17 @@
+package com.firstcoupon.config.kafka;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coupon.kafka.dlq.replay")
+public class DlqReplayProperties {
+
+    private String topic = "coupon-issued-dlq";
+    private int recordsPerSecond = 500;  //초당 재처리 상한
+    private int batchSize = 200;  //한 번에 DB에 저장할 레코드 수
+    private Duration pollTimeout = Duration.ofSeconds(1);
+}
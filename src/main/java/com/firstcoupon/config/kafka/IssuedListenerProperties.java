@@ -0,0 +1,31 @@
+package com.firstcoupon.config.kafka;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coupon.kafka.issued")
+public class IssuedListenerProperties {
+
+    public static final String RECORD = "record";
+    public static final String BATCH = "batch";
+    public static final String PARALLEL = "parallel";
+
+    private String listenerMode = RECORD;  //record: 레코드 단위 처리, batch: 묶음 단위 처리, parallel: 키 단위 병렬 처리
+    private int maxPollRecords = 500;  //batch 모드에서 한 번에 가져올 최대 레코드 수
+    private int insertChunkSize = 500;  //다중 행 INSERT 한 번에 넣을 최대 행 수
+    private int parallelWorkers = 16;  //parallel 모드 워커 수(DB 커넥션 풀 크기 이내로 설정)
+    private int parallelQueueCapacity = 100;  //워커별 대기 레코드 수, 가득 차면 해당 파티션을 일시 정지
+    private int parallelRetries = 3;  //parallel 모드 재시도 횟수(1초부터 2배씩 증가), 이후 DLQ
+    private int parallelDlqRetries = 5;  //DLQ 전송 재시도 횟수(1초부터 2배씩, 최대 30초), 이후 리스너 정지
+
+    public boolean isBatch() {
+        return BATCH.equalsIgnoreCase(listenerMode);
+    }
+
+    public boolean isParallel() {
+        return PARALLEL.equalsIgnoreCase(listenerMode);
+    }
+}
@@ -0,0 +1,14 @@
+package com.firstcoupon.config.kafka;
+
+import com.firstcoupon.kafka.IssuedKeyStrategy;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coupon.kafka.issued.producer")  //리스너 설정(coupon.kafka.issued)과 분리
+public class IssuedProducerProperties {
+
+    private IssuedKeyStrategy keyStrategy = IssuedKeyStrategy.EMAIL;  //coupon: 쿠폰 ID, email: 사용자 이메일
+}
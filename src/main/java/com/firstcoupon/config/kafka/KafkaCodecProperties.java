@@ -0,0 +1,28 @@
+package com.firstcoupon.config.kafka;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coupon.kafka.codec")
+public class KafkaCodecProperties {
+
+    public static final String JSON = "json";
+    public static final String BINARY = "binary";
+
+    private String format = JSON;  //json: JsonSerializer, binary: 스키마 버전이 있는 바이너리 코덱
+    private String producerCompression = "lz4";  //프로듀서 배치 압축 방식
+    private Map<String, String> topicCompression = new HashMap<>();  //토픽별 압축 방식(토픽 설정 compression.type)
+
+    public boolean isBinary() {
+        return BINARY.equalsIgnoreCase(format);
+    }
+
+    public String getTopicCompression(String topic) {
+        return topicCompression.getOrDefault(topic, "producer");  //producer: 프로듀서 압축 방식을 그대로 저장
+    }
+}
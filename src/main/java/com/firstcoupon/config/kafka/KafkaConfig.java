@@ -0,0 +1,11 @@
+package com.firstcoupon.config.kafka;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({IssuedListenerProperties.class, IssuedProducerProperties.class,
+        KafkaCodecProperties.class, DlqReplayProperties.class, ListenerScalingProperties.class,
+        KafkaTopicProperties.class})
+public class KafkaConfig {
+}
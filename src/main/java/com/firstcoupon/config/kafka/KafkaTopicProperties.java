@@ -0,0 +1,19 @@
+package com.firstcoupon.config.kafka;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coupon.kafka.topics")
+public class KafkaTopicProperties {
+
+    private Map<String, Integer> partitions = new HashMap<>();  //토픽별 파티션 수(늘리기만 가능)
+
+    public int getPartitions(String topic) {
+        return partitions.getOrDefault(topic, 3);
+    }
+}
@@ -0,0 +1,36 @@
+package com.firstcoupon.config.kafka;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coupon.kafka.scaling")
+public class ListenerScalingProperties {
+
+    public static final String ISSUED_LISTENER = "couponIssuedListener";
+    public static final String USED_LISTENER = "couponUsedListener";
+
+    private boolean enabled = true;
+    private long intervalMs = 10_000;  //랙 확인 주기
+    private Duration cooldown = Duration.ofSeconds(30);  //재시작 후 파티션을 다시 할당받은 시점부터 다음 변경까지 대기 시간(최소 리밸런싱 시간의 2배)
+    private Duration targetDrainTime = Duration.ofSeconds(30);  //랙을 이 시간 안에 소진할 수 있도록 동시성 결정
+    private long scaleDownLag = 100;  //랙이 이보다 작으면 동시성 축소
+    private Map<String, Bounds> listeners = new HashMap<>();  //리스너 ID별 동시성 범위
+
+    public Bounds getBounds(String listenerId) {
+        return listeners.getOrDefault(listenerId, new Bounds());
+    }
+
+    @Getter
+    @Setter
+    public static class Bounds {
+
+        private int minConcurrency = 3;
+        private int maxConcurrency = 3;
+    }
+}
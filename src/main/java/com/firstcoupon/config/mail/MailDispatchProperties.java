@@ -0,0 +1,23 @@
+package com.firstcoupon.config.mail;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coupon.mail.dispatch")
+public class MailDispatchProperties {
+
+    private int queueCapacity = 1000;  //메모리 큐 크기, 가득 차면 리스너가 대기(backpressure)
+    private Duration offerTimeout = Duration.ofSeconds(1);  //큐 대기 상한, 넘으면 재전송 대상으로 남김
+    private int maxPollRecords = 50;  //coupon-used 리스너 poll 크기, maxPollRecords * offerTimeout이 max.poll.interval.ms보다 작아야 함
+    private int workers = 4;  //전송 워커 수
+    private int maxConnections = 4;  //SMTP 연결 풀 크기
+    private int batchSize = 20;  //한 연결로 연달아 보낼 메일 수
+    private int maxAttempts = 3;
+    private Duration retryBackoff = Duration.ofSeconds(2);  //실패 시 재전송까지 대기(시도 횟수만큼 증가)
+    private Duration staleAfter = Duration.ofMinutes(5);  //큐에 넣은 뒤 이 시간이 지나도 미전송이면 재전송
+    private long sweepIntervalMs = 10_000;  //재전송 대상 확인 주기
+}
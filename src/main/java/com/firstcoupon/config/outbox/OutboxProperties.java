@@ -0,0 +1,18 @@
+package com.firstcoupon.config.outbox;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coupon.outbox")
+public class OutboxProperties {
+
+    private int batchSize = 100;  //한 번에 발행할 최대 행 수
+    private long pollIntervalMs = 100;  //미발행 행 조회 주기
+    private Duration sendTimeout = Duration.ofSeconds(10);  //묶음 발행 응답 대기 시간
+    private Duration claimTimeout = Duration.ofSeconds(30);  //발행 중인 행 점유 시간, sendTimeout보다 길어야 함
+    private Duration retention = Duration.ofDays(1);  //발행 완료 행 보관 기간
+}
@@ -0,0 +1,26 @@
+package com.firstcoupon.config.queue;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coupon.queue")
+public class CouponQueueProperties {
+
+    private long tickIntervalMs = 100;  //입장 처리 주기
+    private int defaultAdmissionPerTick = 100;  //노드별 틱당 입장 인원
+    private Map<String, Integer> admissionPerTick = new HashMap<>();  //쿠폰 코드별 틱당 입장 인원
+    private int admissionThreads = 16;  //입장한 요청을 발급 경로로 넘기는 스레드 수
+    private int soldOutDrainPerTick = 1000;  //소진된 쿠폰 대기열을 틱마다 정리할 인원(Lua 한 번의 실행 시간 제한)
+    private int maxInFlight = 1000;  //노드별로 발급 경로에서 처리 중인 최대 입장 인원(초과분은 다음 틱까지 대기)
+    private Duration resultTtl = Duration.ofHours(1);  //발급 결과 보관 시간
+
+    public int getAdmissionPerTick(String code) {
+        return admissionPerTick.getOrDefault(code, defaultAdmissionPerTick);
+    }
+}
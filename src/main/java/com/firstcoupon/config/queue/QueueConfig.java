@@ -0,0 +1,9 @@
+package com.firstcoupon.config.queue;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(CouponQueueProperties.class)
+public class QueueConfig {
+}
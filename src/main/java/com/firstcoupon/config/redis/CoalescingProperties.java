@@ -0,0 +1,17 @@
+package com.firstcoupon.config.redis;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coupon.issue.coalescing")
+public class CoalescingProperties {
+
+    private boolean enabled = true;
+    private int maxBatchSize = 64;  //묶음 하나에 담을 최대 요청 수
+    private Duration maxWait = Duration.ofMillis(1);  //묶음을 모으는 최대 대기 시간
+    private int threads = 2;  //묶음을 Redis로 전송하는 스레드 수
+}
@@ -0,0 +1,18 @@
+package com.firstcoupon.config.redis;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coupon.issue.leasing")
+public class LeasingProperties {
+
+    private boolean enabled = false;
+    private int minLeaseSize = 1;
+    private int maxLeaseSize = 100;
+    private Duration leaseWindow = Duration.ofMillis(100);  //한 번의 임대로 감당할 요청 구간
+    private Duration idleTimeout = Duration.ofSeconds(2);  //요청이 없으면 남은 재고 반납
+}
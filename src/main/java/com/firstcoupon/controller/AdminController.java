@@ -2,10 +2,15 @@ package com.firstcoupon.controller;
 
 import com.firstcoupon.dto.CouponCreate;
 import com.firstcoupon.dto.CouponResponse;
+import com.firstcoupon.dto.DlqReplayRequest;
+import com.firstcoupon.dto.DlqReplayStatus;
 import com.firstcoupon.service.AdminService;
+import com.firstcoupon.service.DlqReplayService;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -17,14 +22,35 @@ import org.springframework.web.bind.annotation.RestController;
 public class AdminController {
 
     private final AdminService adminService;
+    private final DlqReplayService dlqReplayService;
 
     @PostMapping("/coupon")
     public void createCoupon(@RequestBody CouponCreate request) {
         adminService.createCoupon(request);
     }
 
+    @PostMapping("/coupon/{code}/tokens")
+    public void fillTokenPool(@PathVariable String code) {
+        adminService.fillTokenPool(code);
+    }
+
     @GetMapping("/coupons")
     public List<CouponResponse> getCoupons() {
         return adminService.getCoupons();
     }
+
+    @PostMapping("/dlq/replay")
+    public DlqReplayStatus replayDlq(@RequestBody DlqReplayRequest request) {
+        return dlqReplayService.start(request);
+    }
+
+    @GetMapping("/dlq/replay")
+    public DlqReplayStatus getDlqReplayStatus() {
+        return dlqReplayService.getStatus();
+    }
+
+    @DeleteMapping("/dlq/replay")
+    public DlqReplayStatus cancelDlqReplay() {
+        return dlqReplayService.cancel();
+    }
 }
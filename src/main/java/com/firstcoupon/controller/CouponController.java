@@ -1,8 +1,14 @@
 package com.firstcoupon.controller;
 
 import com.firstcoupon.dto.CouponIssue;
+import com.firstcoupon.dto.IssuedCouponResponse;
+import com.firstcoupon.dto.QueueTicket;
+import com.firstcoupon.service.CouponQueueService;
 import com.firstcoupon.service.CouponService;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -15,14 +21,35 @@ import org.springframework.web.bind.annotation.RestController;
 public class CouponController {
 
     private final CouponService couponService;
+    private final CouponQueueService couponQueueService;
 
     @PostMapping("/issue")
     public void issueCoupon(@RequestBody CouponIssue request) {
         couponService.issueCouponWithKafka(request);
     }
 
+    @PostMapping("/issue/async")
+    public CompletableFuture<Void> issueCouponAsync(@RequestBody CouponIssue request) {
+        return couponService.issueCouponWithKafkaAsync(request);  //브로커 응답까지 요청 스레드를 점유하지 않음
+    }
+
+    @PostMapping("/queue")
+    public QueueTicket enterQueue(@RequestBody CouponIssue request) {
+        return couponQueueService.enter(request);
+    }
+
+    @GetMapping("/queue")
+    public QueueTicket getQueueTicket(@RequestParam String code, @RequestParam String email) {
+        return couponQueueService.getTicket(code, email);
+    }
+
     @PostMapping("/use")
-    public void useCoupon(@RequestParam String email) {
-        couponService.useCoupon(email);
+    public void useCoupon(@RequestParam String email, @RequestParam String code) {
+        couponService.useCoupon(email, code);
+    }
+
+    @GetMapping("/my")
+    public List<IssuedCouponResponse> getMyCoupons(@RequestParam String email) {
+        return couponService.getMyCoupons(email);
     }
 }
@@ -0,0 +1,25 @@
+package com.firstcoupon.controller;
+
+import com.firstcoupon.dto.CouponIssue;
+import com.firstcoupon.service.ReactiveCouponService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@Profile("reactive")
+@RequiredArgsConstructor
+@RequestMapping("/api/reactive/coupon")
+public class ReactiveCouponController {
+
+    private final ReactiveCouponService reactiveCouponService;
+
+    @PostMapping("/issue")
+    public Mono<Void> issueCoupon(@RequestBody CouponIssue request) {
+        return reactiveCouponService.issueCoupon(request);
+    }
+}
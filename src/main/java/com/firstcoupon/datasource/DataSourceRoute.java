@@ -0,0 +1,46 @@
+package com.firstcoupon.datasource;
+
+import java.util.function.Supplier;
+
+/*
+    트랜잭션 속성과 별개로 현재 스레드의 라우팅 대상을 지정
+    - onPrimary: 방금 쓴 데이터를 읽어야 하는 경로(read-after-write)에서 레플리카 지연을 피함
+    - onReplica: 트랜잭션 밖에서 실행되는 대량 조회(배치 리더 등)를 레플리카로 보냄
+ */
+public final class DataSourceRoute {
+
+    enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private static final ThreadLocal<Target> FORCED = new ThreadLocal<>();
+
+    private DataSourceRoute() {
+    }
+
+    public static <T> T onPrimary(Supplier<T> action) {
+        return with(Target.PRIMARY, action);
+    }
+
+    public static <T> T onReplica(Supplier<T> action) {
+        return with(Target.REPLICA, action);
+    }
+
+    static Target forced() {
+        return FORCED.get();
+    }
+
+    private static <T> T with(Target target, Supplier<T> action) {
+        Target previous = FORCED.get();
+        FORCED.set(target);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                FORCED.remove();
+            } else {
+                FORCED.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.firstcoupon.datasource;
+
+import com.firstcoupon.config.datasource.DataSourceRoutingProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/*
+    레플리카 상태와 복제 지연 확인
+    커넥션 검증에 실패한 레플리카, lagQuery로 측정한 지연이 maxLagMs를 넘는 레플리카는 다음 확인 전까지 읽기 대상에서 빠진다.
+    actuator health의 replicas 항목으로 레플리카별 상태를 노출한다.
+ */
+public class ReplicaHealthMonitor implements HealthIndicator {
+
+    private static final Logger couponLogger = LoggerFactory.getLogger("CouponLogger");
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final DataSourceRoutingProperties properties;
+
+    public ReplicaHealthMonitor(ReplicaRoutingDataSource routingDataSource, DataSourceRoutingProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.routingDataSource = routingDataSource;
+        this.properties = properties;
+        Gauge.builder("coupon.datasource.replica.available", routingDataSource,
+                        ReplicaRoutingDataSource::availableReplicas)
+                .description("읽기 대상으로 사용 가능한 레플리카 수")
+                .register(meterRegistry);
+        routingDataSource.getReplicas().values().forEach(replica ->
+                Gauge.builder("coupon.datasource.replica.lag", replica, ReplicaState::getLagMs)
+                        .tag("replica", replica.getName())
+                        .baseUnit("milliseconds")
+                        .register(meterRegistry));
+    }
+
+    @Scheduled(fixedDelayString = "${coupon.datasource.routing.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (ReplicaState replica : routingDataSource.getReplicas().values()) {
+            boolean wasAvailable = replica.isAvailable();
+            check(replica);
+            if (wasAvailable != replica.isAvailable()) {
+                couponLogger.warn("레플리카 상태 변경 - 레플리카: {}, 사용 가능: {}, 지연: {}ms, 오류: {}",
+                        replica.getName(), replica.isAvailable(), replica.getLagMs(), replica.getError());
+            }
+        }
+    }
+
+    private void check(ReplicaState replica) {
+        try (Connection connection = replica.getDataSource().getConnection()) {
+            if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                replica.down("connection is not valid");
+                return;
+            }
+            replica.up(measureLagMs(connection), properties.getMaxLagMs());
+        } catch (Exception e) {
+            replica.down(e.getMessage());
+        }
+    }
+
+    private long measureLagMs(Connection connection) throws Exception {
+        String lagQuery = properties.getLagQuery();
+        if (lagQuery == null || lagQuery.isBlank()) {
+            return 0;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (!resultSet.next() || resultSet.getObject(1) == null) {  //복제가 멈춘 경우(Seconds_Behind_Source = NULL)
+                return Long.MAX_VALUE;
+            }
+            return (long) (resultSet.getDouble(1) * 1000);
+        }
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = routingDataSource.availableReplicas() > 0 || routingDataSource.getReplicas().isEmpty()
+                ? Health.up()
+                : Health.status("DEGRADED");  //읽기를 프라이머리가 모두 처리하는 상태
+        routingDataSource.getReplicas().values().forEach(replica -> builder.withDetail(replica.getName(),
+                replica.isAvailable()
+                        ? "UP (lag " + replica.getLagMs() + "ms)"
+                        : "DOWN (" + (replica.isHealthy() ? "lag " + replica.getLagMs() + "ms" : replica.getError()) + ")"));
+        return builder.build();
+    }
+}
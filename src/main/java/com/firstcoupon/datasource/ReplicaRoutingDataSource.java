@@ -0,0 +1,95 @@
+package com.firstcoupon.datasource;
+
+import com.firstcoupon.datasource.DataSourceRoute.Target;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/*
+    읽기 전용 트랜잭션은 사용 가능한 레플리카로, 나머지는 프라이머리로 라우팅
+    트랜잭션의 readOnly 여부는 커넥션을 실제로 얻는 시점에 확인하므로 LazyConnectionDataSourceProxy로 감싸서 사용한다.
+    사용 가능한 레플리카가 없으면(장애, 지연 초과) 프라이머리로 보낸다.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final Map<String, ReplicaState> replicas = new LinkedHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicaDataSources) {
+        Map<Object, Object> targets = new HashMap<>(replicaDataSources);
+        targets.put(PRIMARY, primary);
+        replicaDataSources.forEach((name, dataSource) -> replicas.put(name, new ReplicaState(name, dataSource)));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Target forced = DataSourceRoute.forced();
+        if (forced == Target.PRIMARY) {
+            return PRIMARY;
+        }
+        if (forced == Target.REPLICA || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return selectReplica();
+        }
+        return PRIMARY;
+    }
+
+    //사용 가능한 레플리카를 라운드 로빈으로 선택
+    private String selectReplica() {
+        List<ReplicaState> available = replicas.values().stream()
+                .filter(ReplicaState::isAvailable)
+                .toList();
+        if (available.isEmpty()) {
+            return PRIMARY;
+        }
+        return available.get(Math.floorMod(next.getAndIncrement(), available.size())).getName();
+    }
+
+    public Map<String, ReplicaState> getReplicas() {
+        return replicas;
+    }
+
+    public long availableReplicas() {
+        return replicas.values().stream().filter(ReplicaState::isAvailable).count();
+    }
+
+    //항상 레플리카로 라우팅되는 데이터소스(트랜잭션 밖에서 커넥션을 얻는 배치 리더용)
+    public DataSource replicaView() {
+        return new DelegatingDataSource(this) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return replicaTarget().getConnection();
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return replicaTarget().getConnection(username, password);
+            }
+        };
+    }
+
+    //컨텍스트 종료 시 프라이머리/레플리카 커넥션 풀 정리(@Bean의 close 메서드 추론)
+    public void close() throws Exception {
+        for (DataSource dataSource : getResolvedDataSources().values()) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private DataSource replicaTarget() {
+        return getResolvedDataSources().get(selectReplica());
+    }
+}
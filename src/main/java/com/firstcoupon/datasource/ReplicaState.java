@@ -0,0 +1,40 @@
+package com.firstcoupon.datasource;
+
+import javax.sql.DataSource;
+import lombok.Getter;
+
+/*
+    레플리카별 상태(ReplicaHealthMonitor가 주기적으로 갱신)
+    처음에는 사용 가능으로 두고, 확인에 실패하거나 지연이 허용치를 넘으면 읽기 대상에서 제외한다.
+ */
+@Getter
+public class ReplicaState {
+
+    private final String name;
+    private final DataSource dataSource;
+    private volatile boolean healthy = true;
+    private volatile long lagMs;
+    private volatile long maxLagMs = Long.MAX_VALUE;
+    private volatile String error;
+
+    ReplicaState(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public boolean isAvailable() {
+        return healthy && lagMs <= maxLagMs;
+    }
+
+    void up(long lagMs, long maxLagMs) {
+        this.healthy = true;
+        this.lagMs = lagMs;
+        this.maxLagMs = maxLagMs;
+        this.error = null;
+    }
+
+    void down(String error) {
+        this.healthy = false;
+        this.error = error;
+    }
+}
@@ -1,11 +1,13 @@
 package com.firstcoupon.domain;
 
+import com.firstcoupon.domain.id.SnowflakeId;
 import com.firstcoupon.utils.CouponCodeGenerator;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
@@ -25,12 +27,15 @@ import lombok.NoArgsConstructor;
 @Table(
         uniqueConstraints = {
                 @UniqueConstraint(name = "unique_coupon", columnNames = {"coupon_name", "expiration_date"})
+        },
+        indexes = {
+                @Index(name = "idx_coupon_code", columnList = "code", unique = true)
         }
 )
 public class Coupon {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     private String code;
@@ -50,20 +55,35 @@ public class Coupon {
 
     private LocalDateTime issueEndTime;
 
+    @Enumerated(EnumType.STRING)
+    private StockStrategy stockStrategy;  //Redis 재고 관리 방식
+
+    private int stockShards;  //SHARDED_COUNTER일 때 재고를 나눌 카운터 수
+
     @Builder
     public Coupon(String code, String couponName, int totalQuantity, LocalDate expirationDate,
-                  LocalDateTime issueStartTime, LocalDateTime issueEndTime) {
+                  LocalDateTime issueStartTime, LocalDateTime issueEndTime, StockStrategy stockStrategy,
+                  int stockShards) {
         this.code = code;
         this.couponName = couponName;
         this.totalQuantity = totalQuantity;
-        // this.remainingQuantity = totalQuantity;
+        this.remainingQuantity = totalQuantity;
         this.expirationDate = expirationDate;
         this.issueStartTime = issueStartTime;
         this.issueEndTime = issueEndTime;
+        this.stockStrategy = stockStrategy == null ? StockStrategy.COUNTER : stockStrategy;
+        this.stockShards = Math.max(stockShards, 1);
     }
 
     public static Coupon create(String couponName, int totalQuantity, LocalDate expirationDate,
                                 LocalDateTime issueStartTime, LocalDateTime issueEndTime) {
+        return create(couponName, totalQuantity, expirationDate, issueStartTime, issueEndTime,
+                StockStrategy.COUNTER, 1);
+    }
+
+    public static Coupon create(String couponName, int totalQuantity, LocalDate expirationDate,
+                                LocalDateTime issueStartTime, LocalDateTime issueEndTime,
+                                StockStrategy stockStrategy, int stockShards) {
         String code = CouponCodeGenerator.generate();
         return Coupon.builder()
                 .code(code)
@@ -72,6 +92,8 @@ public class Coupon {
                 .expirationDate(expirationDate)
                 .issueStartTime(issueStartTime)
                 .issueEndTime(issueEndTime)
+                .stockStrategy(stockStrategy)
+                .stockShards(stockShards)
                 .build();
     }
 
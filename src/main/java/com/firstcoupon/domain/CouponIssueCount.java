@@ -0,0 +1,22 @@
+package com.firstcoupon.domain;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/*
+    쿠폰별 발급 수량
+    issued_coupon에 행을 저장하는 트랜잭션에서 함께 증가시켜, 발급 수량 확인 시 COUNT(*) 대신 한 행만 읽는다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class CouponIssueCount {
+
+    @Id
+    private Long couponId;
+
+    private long issuedCount;
+}
@@ -12,4 +12,9 @@ public class CouponIssuedEvent {
 
     private String email;
     private Long couponId;
+    private String serial;  //TOKEN_POOL 쿠폰의 발급 일련번호
+
+    public CouponIssuedEvent(String email, Long couponId) {
+        this(email, couponId, null);
+    }
 }
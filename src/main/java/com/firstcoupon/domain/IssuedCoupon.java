@@ -1,15 +1,17 @@
 package com.firstcoupon.domain;
 
+import com.firstcoupon.domain.id.SnowflakeId;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import lombok.AccessLevel;
@@ -24,14 +26,29 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 @Getter
 @EntityListeners(AuditingEntityListener.class)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(
+        uniqueConstraints = {
+                @UniqueConstraint(name = "unique_issued_coupon", columnNames = {"coupon_id", "email"}),
+                //TOKEN_POOL 일련번호는 쿠폰별로 한 번만 발급(serial이 없는 쿠폰은 NULL이라 제약에 걸리지 않음)
+                @UniqueConstraint(name = "unique_issued_coupon_serial", columnNames = {"coupon_id", "serial"})
+        },
+        indexes = {
+                //내 쿠폰 목록 조회용 커버링 인덱스(email로 찾아 issued_at 역순으로 읽어 정렬 없이 반환, 나머지 컬럼은 인덱스에서 읽음)
+                //ddl-auto: update는 기존 인덱스를 바꾸지 않으므로 이전 idx_issued_coupon_email은 배포 후 직접 삭제
+                @Index(name = "idx_issued_coupon_email_issued_at",
+                        columnList = "email, issued_at, coupon_id, status, used_at")
+        }
+)
 public class IssuedCoupon {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     private String email;
 
+    private String serial;  //TOKEN_POOL 쿠폰의 발급 일련번호
+
     @Setter
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "coupon_id")
@@ -46,16 +63,22 @@ public class IssuedCoupon {
     private CouponStatus status;
 
     @Builder
-    public IssuedCoupon(String email, Coupon coupon, LocalDateTime usedAt, CouponStatus status) {
+    public IssuedCoupon(String email, String serial, Coupon coupon, LocalDateTime usedAt, CouponStatus status) {
         this.email = email;
+        this.serial = serial;
         this.coupon = coupon;
         this.usedAt = usedAt;
         this.status = status;
     }
 
     public static IssuedCoupon issue(String email, Coupon coupon) {
+        return issue(email, coupon, null);
+    }
+
+    public static IssuedCoupon issue(String email, Coupon coupon, String serial) {
         IssuedCoupon issuedCoupon = IssuedCoupon.builder()
                 .email(email)
+                .serial(serial)
                 .coupon(coupon)
                 .status(CouponStatus.ISSUED)
                 .build();
@@ -0,0 +1,56 @@
+package com.firstcoupon.domain;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(
+        indexes = {
+                @Index(name = "idx_mail_job_status_next_attempt", columnList = "status, next_attempt_at")
+        }
+)
+public class MailJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String email;
+
+    private String couponName;
+
+    @Enumerated(EnumType.STRING)
+    private MailStatus status;
+
+    private int attempts;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime nextAttemptAt;  //이 시각이 지나도 PENDING이면 재전송 대상
+
+    private LocalDateTime sentAt;
+
+    private MailJob(String email, String couponName, LocalDateTime nextAttemptAt) {
+        this.email = email;
+        this.couponName = couponName;
+        this.status = MailStatus.PENDING;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public static MailJob couponUsed(String email, String couponName, LocalDateTime nextAttemptAt) {
+        return new MailJob(email, couponName, nextAttemptAt);
+    }
+}
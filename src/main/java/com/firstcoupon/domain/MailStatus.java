@@ -0,0 +1,6 @@
+package com.firstcoupon.domain;
+
+public enum MailStatus {
+
+    PENDING, SENT, FAILED
+}
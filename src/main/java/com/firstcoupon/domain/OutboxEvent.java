@@ -0,0 +1,52 @@
+package com.firstcoupon.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(
+        indexes = {
+                @Index(name = "idx_outbox_event_sent_at", columnList = "sent_at, id")
+        }
+)
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String topic;
+
+    private String eventKey;  //카프카 메시지 키(없으면 null)
+
+    @Column(columnDefinition = "TEXT")
+    private String payload;  //JSON 직렬화된 이벤트
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;  //발행 완료 시각, 미발행이면 null
+
+    private LocalDateTime claimedUntil;  //릴레이가 발행 중인 행의 점유 만료 시각, 만료되면 다른 릴레이가 다시 발행
+
+    private OutboxEvent(String topic, String eventKey, String payload) {
+        this.topic = topic;
+        this.eventKey = eventKey;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public static OutboxEvent create(String topic, String eventKey, String payload) {
+        return new OutboxEvent(topic, eventKey, payload);
+    }
+}
@@ -0,0 +1,6 @@
+package com.firstcoupon.domain;
+
+public enum StockStrategy {
+
+    COUNTER, SHARDED_COUNTER, TOKEN_POOL
+}
@@ -0,0 +1,17 @@
+package com.firstcoupon.domain.id;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.hibernate.annotations.IdGeneratorType;
+
+/*
+    엔티티 ID를 애플리케이션에서 Snowflake로 생성
+    INSERT 전에 ID가 정해지므로 Hibernate JDBC 배치(jdbc.batch_size, order_inserts)가 적용된다.
+ */
+@IdGeneratorType(SnowflakeIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface SnowflakeId {
+}
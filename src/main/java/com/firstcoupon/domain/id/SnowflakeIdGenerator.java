@@ -0,0 +1,13 @@
+package com.firstcoupon.domain.id;
+
+import com.firstcoupon.utils.Snowflake;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+public class SnowflakeIdGenerator implements IdentifierGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return Snowflake.generate();
+    }
+}
@@ -1,6 +1,7 @@
 package com.firstcoupon.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.firstcoupon.domain.StockStrategy;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -34,4 +35,14 @@ public class CouponCreate {
     @NotNull(message = "쿠폰 발급 종료 시간을 입력해 주세요.")
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
     private LocalDateTime issueEndTime;
+
+    private StockStrategy stockStrategy;  //미입력 시 COUNTER
+
+    @Min(value = 1, message = "1개 이상 입력해 주세요.")
+    private int stockShards = 1;
+
+    public CouponCreate(String couponName, int totalQuantity, LocalDate expirationDate,
+                        LocalDateTime issueStartTime, LocalDateTime issueEndTime) {
+        this(couponName, totalQuantity, expirationDate, issueStartTime, issueEndTime, StockStrategy.COUNTER, 1);
+    }
 }
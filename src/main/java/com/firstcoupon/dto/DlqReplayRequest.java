@@ -0,0 +1,38 @@
+package com.firstcoupon.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class DlqReplayRequest {
+
+    //시간 범위(레코드 타임스탬프 기준)
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    private LocalDateTime fromTime;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    private LocalDateTime toTime;  //미입력 시 현재 끝까지
+
+    //오프셋 범위(partition 미입력 시 모든 파티션에 적용)
+    private Integer partition;
+
+    private Long fromOffset;
+
+    private Long toOffset;  //포함, 미입력 시 현재 끝까지
+
+    private Integer recordsPerSecond;  //미입력 시 기본 설정값
+
+    public boolean isTimeRange() {
+        return fromTime != null;
+    }
+
+    public boolean isOffsetRange() {
+        return fromOffset != null;
+    }
+}
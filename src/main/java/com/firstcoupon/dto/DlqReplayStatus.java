@@ -0,0 +1,43 @@
+package com.firstcoupon.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.LocalDateTime;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@JsonInclude(value = JsonInclude.Include.NON_NULL)
+public class DlqReplayStatus {
+
+    public static final String IDLE = "IDLE";
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String CANCELLED = "CANCELLED";
+    public static final String FAILED = "FAILED";
+
+    private String state;
+
+    private long target;  //재처리 대상 레코드 수
+
+    private long processed;  //읽은 레코드 수
+
+    private long inserted;  //새로 저장된 발급 수
+
+    private long skipped;  //이미 저장되어 건너뛴 발급 수
+
+    private long failed;  //처리하지 못한 레코드 수
+
+    private double recordsPerSecond;  //실제 처리 속도
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    private LocalDateTime startedAt;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Seoul")
+    private LocalDateTime finishedAt;
+
+    public static DlqReplayStatus idle() {
+        return DlqReplayStatus.builder().state(IDLE).build();
+    }
+}
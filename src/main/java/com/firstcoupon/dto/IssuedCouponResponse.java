@@ -0,0 +1,35 @@
+package com.firstcoupon.dto;
+
+import com.firstcoupon.domain.CouponStatus;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class IssuedCouponResponse {
+
+    private String code;
+
+    private String couponName;
+
+    private LocalDate expirationDate;
+
+    private CouponStatus status;
+
+    private LocalDateTime issuedAt;
+
+    private LocalDateTime usedAt;
+
+    public IssuedCouponResponse(String code, String couponName, LocalDate expirationDate, CouponStatus status,
+                                LocalDateTime issuedAt, LocalDateTime usedAt) {
+        this.code = code;
+        this.couponName = couponName;
+        this.expirationDate = expirationDate;
+        this.status = status;
+        this.issuedAt = issuedAt;
+        this.usedAt = usedAt;
+    }
+}
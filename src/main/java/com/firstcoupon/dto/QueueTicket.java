@@ -0,0 +1,39 @@
+package com.firstcoupon.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@JsonInclude(value = JsonInclude.Include.NON_NULL)
+public class QueueTicket {
+
+    public static final String WAITING = "WAITING";
+    public static final String PROCESSING = "PROCESSING";
+    public static final String ISSUED = "ISSUED";
+
+    private String code;
+
+    private String email;
+
+    private String status;  //WAITING, PROCESSING, ISSUED 또는 발급 실패 시 ErrorCode
+
+    private Long position;  //대기 중일 때 앞에 남은 인원
+
+    public QueueTicket(String code, String email, String status, Long position) {
+        this.code = code;
+        this.email = email;
+        this.status = status;
+        this.position = position;
+    }
+
+    public static QueueTicket waiting(String code, String email, long position) {
+        return new QueueTicket(code, email, WAITING, position);
+    }
+
+    public static QueueTicket done(String code, String email, String result) {
+        return new QueueTicket(code, email, result, null);
+    }
+}
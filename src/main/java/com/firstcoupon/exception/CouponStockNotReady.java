@@ -0,0 +1,9 @@
+package com.firstcoupon.exception;
+
+
+public class CouponStockNotReady extends CustomException {
+
+    public CouponStockNotReady() {
+        super(ErrorCode.COUPON_STOCK_NOT_READY);
+    }
+}
@@ -0,0 +1,9 @@
+package com.firstcoupon.exception;
+
+
+public class DlqReplayInProgress extends CustomException {
+
+    public DlqReplayInProgress() {
+        super(ErrorCode.DLQ_REPLAY_IN_PROGRESS);
+    }
+}
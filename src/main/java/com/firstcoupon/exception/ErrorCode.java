@@ -15,10 +15,14 @@ public enum ErrorCode {
     INVALID_COUPON_CODE("400", "유효하지 않은 쿠폰 코드입니다."),
     COUPON_SOLD_OUT("410", "쿠폰이 모두 소진되었습니다."),
     COUPON_LOCK_FAILED("503", "쿠폰 발급이 지연되고 있습니다. 잠시 후 다시 시도해주세요."),
+    COUPON_STOCK_NOT_READY("503", "쿠폰 발급을 준비 중입니다. 잠시 후 다시 시도해주세요."),
     NOT_ISSUABLE_TIME("400", "현재는 쿠폰 발급이 불가능한 시간입니다."),
     COUPON_EXPIRED("400", "쿠폰이 만료되었습니다."),
     ISSUED_COUPON_NOT_FOUND("404", "발급 받은 쿠폰이 존재하지 않습니다."),
     COUPON_NOT_FOUND("404", "존재하지 않는 쿠폰입니다."),
+    QUEUE_TICKET_NOT_FOUND("404", "대기열 정보가 존재하지 않습니다."),
+    INVALID_REPLAY_RANGE("400", "재처리 범위는 시간 범위 또는 오프셋 범위 중 하나로 입력해 주세요."),
+    DLQ_REPLAY_IN_PROGRESS("409", "DLQ 재처리가 이미 진행 중입니다."),
     EMAIL_SEND_FAILURE("500", "이메일 전송에 실패했습니다."),
     COUPON_ERROR("500", "쿠폰 발급 과정에서 오류가 발생했습니다.");
 
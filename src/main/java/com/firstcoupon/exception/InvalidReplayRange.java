@@ -0,0 +1,9 @@
+package com.firstcoupon.exception;
+
+
+public class InvalidReplayRange extends CustomException {
+
+    public InvalidReplayRange() {
+        super(ErrorCode.INVALID_REPLAY_RANGE);
+    }
+}
@@ -0,0 +1,9 @@
+package com.firstcoupon.exception;
+
+
+public class QueueTicketNotFound extends CustomException {
+
+    public QueueTicketNotFound() {
+        super(ErrorCode.QUEUE_TICKET_NOT_FOUND);
+    }
+}
@@ -1,13 +1,10 @@
 package com.firstcoupon.kafka;
 
-import com.firstcoupon.domain.CouponIssuedEvent;
+import com.firstcoupon.config.kafka.ListenerScalingProperties;
 import com.firstcoupon.domain.CouponUsedEvent;
-import com.firstcoupon.service.CouponIssueService;
-import com.firstcoupon.service.EmailService;
+import com.firstcoupon.mail.MailDispatcher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Profile;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
@@ -19,48 +16,16 @@ import org.springframework.stereotype.Component;
 @Profile("!test")
 public class CouponConsumer {
 
-    private static final Logger couponLogger = LoggerFactory.getLogger("CouponLogger");
-
-    private final EmailService emailService;
-    private final CouponIssueService couponIssueService;
-
-    @KafkaListener(
-            topics = "coupon-issued",
-            groupId = "coupon-issued-group",
-            containerFactory = "issuedKafkaListenerContainerFactory"
-    )
-    public void consumeCouponIssuedEvent(CouponIssuedEvent event, Acknowledgment ack) {
-        couponLogger.info("카프카 시작");
-        try {
-            log.info("쿠폰 발급 시도: email={}, couponId={}", event.getEmail(), event.getCouponId());
-            couponIssueService.handleCouponIssued(event);
-            ack.acknowledge();  // 수동 동기 커밋
-        } catch (Exception e) {
-            couponLogger.error("쿠폰 발급 처리 중 오류 발생, 이벤트 재처리 예정", e);
-            throw e;
-        }
-    }
-
-    // @KafkaListener(
-    //         topics = "coupon-issued-dlq",
-    //         groupId = "coupon-issued-dlq-group"
-    // )
-    // public void consumeDlq(CouponIssuedEvent event, Acknowledgment ack) {
-    //     try {
-    //         couponIssueService.handleCouponIssued(event);
-    //         ack.acknowledge();
-    //     } catch (Exception e) {
-    //         couponLogger.error("DLQ 재처리 실패", e);
-    //     }
-    // }
+    private final MailDispatcher mailDispatcher;
 
     @KafkaListener(
+            id = ListenerScalingProperties.USED_LISTENER,
             topics = "coupon-used",
             groupId = "coupon-used-group",
             containerFactory = "usedKafkaListenerContainerFactory"
     )
     public void consumeCouponIssuedEvent(CouponUsedEvent event, Acknowledgment ack) {
-        emailService.sendCouponUsedEmail(event.getEmail(), event.getCouponName());
-        ack.acknowledge();
+        mailDispatcher.submit(event.getEmail(), event.getCouponName());  //전송은 메일 파이프라인이 담당
+        ack.acknowledge();  //메일 작업이 DB에 저장된 뒤 커밋
     }
 }
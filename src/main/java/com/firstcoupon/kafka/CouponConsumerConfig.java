@@ -3,19 +3,28 @@ package com.firstcoupon.kafka;
 import static org.apache.kafka.clients.consumer.ConsumerConfig.AUTO_OFFSET_RESET_CONFIG;
 import static org.apache.kafka.clients.consumer.ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG;
 import static org.apache.kafka.clients.consumer.ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG;
+import static org.apache.kafka.clients.consumer.ConsumerConfig.MAX_POLL_RECORDS_CONFIG;
 import static org.apache.kafka.clients.consumer.ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG;
 
+import com.firstcoupon.config.kafka.IssuedListenerProperties;
+import com.firstcoupon.config.kafka.KafkaCodecProperties;
+import com.firstcoupon.config.kafka.ListenerScalingProperties;
+import com.firstcoupon.config.mail.MailDispatchProperties;
 import com.firstcoupon.domain.CouponIssuedEvent;
 import com.firstcoupon.domain.CouponUsedEvent;
+import com.firstcoupon.kafka.codec.BinaryEventDeserializer;
 import java.util.HashMap;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.dao.TransientDataAccessException;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
@@ -34,6 +43,13 @@ import org.springframework.kafka.support.serializer.JsonDeserializer;
 public class CouponConsumerConfig {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final IssuedListenerProperties issuedListenerProperties;
+    private final KafkaCodecProperties codecProperties;
+    private final ListenerScalingProperties scalingProperties;
+    private final MailDispatchProperties mailDispatchProperties;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
 
     @Bean
     public ConsumerFactory<String, CouponIssuedEvent> issuedConsumerFactory(KafkaProperties properties) {
@@ -45,11 +61,14 @@ public class CouponConsumerConfig {
         config.put(AUTO_OFFSET_RESET_CONFIG, "earliest");
         config.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
         config.put(JsonDeserializer.VALUE_DEFAULT_TYPE, CouponIssuedEvent.class.getName());
+        if (issuedListenerProperties.isBatch()) {  // 묶음 처리 시 한 번에 가져올 레코드 수
+            config.put(MAX_POLL_RECORDS_CONFIG, issuedListenerProperties.getMaxPollRecords());
+        }
 
         return new DefaultKafkaConsumerFactory<>(
                 config,
                 new StringDeserializer(),
-                new JsonDeserializer<>(CouponIssuedEvent.class, false)
+                valueDeserializer(CouponIssuedEvent.class)
         );
     }
 
@@ -63,14 +82,25 @@ public class CouponConsumerConfig {
         config.put(AUTO_OFFSET_RESET_CONFIG, "earliest");
         config.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
         config.put(JsonDeserializer.VALUE_DEFAULT_TYPE, CouponUsedEvent.class.getName());
+        // 메일 큐가 가득 차면 레코드마다 offerTimeout까지 대기하므로 poll 크기를 제한
+        config.put(MAX_POLL_RECORDS_CONFIG, mailDispatchProperties.getMaxPollRecords());
 
         return new DefaultKafkaConsumerFactory<>(
                 config,
                 new StringDeserializer(),
-                new JsonDeserializer<>(CouponUsedEvent.class, false)
+                valueDeserializer(CouponUsedEvent.class)
         );
     }
 
+    // binary 모드에서도 전환 이전에 쌓인 JSON 메시지는 JsonDeserializer로 읽음
+    private <T> Deserializer<T> valueDeserializer(Class<T> type) {
+        JsonDeserializer<T> json = new JsonDeserializer<>(type, false);
+        if (codecProperties.isBinary()) {
+            return new BinaryEventDeserializer<>(type, json);
+        }
+        return json;
+    }
+
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, CouponIssuedEvent> issuedKafkaListenerContainerFactory(
             ConsumerFactory<String, CouponIssuedEvent> issuedConsumerFactory
@@ -79,12 +109,20 @@ public class CouponConsumerConfig {
                 new ConcurrentKafkaListenerContainerFactory<>();
 
         factory.setConsumerFactory(issuedConsumerFactory);
+        // batch 모드: List<CouponIssuedEvent> 단위로 리스너 호출
+        factory.setBatchListener(issuedListenerProperties.isBatch());
         // 수동 커밋
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
         factory.getContainerProperties().setAsyncAcks(false);
+        if (issuedListenerProperties.isParallel()) {
+            // parallel 모드: 워커 스레드에서 순서와 상관없이 ack, 컨테이너는 연속으로 처리된 오프셋까지만 커밋
+            factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+            factory.getContainerProperties().setAsyncAcks(true);
+        }
 
-        // 파티션 병렬 처리(순서는 파티션 내에서 보장됨)
-        factory.setConcurrency(3);
+        // 파티션 병렬 처리(순서는 파티션 내에서 보장됨), 이후 ListenerConcurrencyScaler가 랙에 따라 조절
+        factory.setConcurrency(scalingProperties.getBounds(ListenerScalingProperties.ISSUED_LISTENER).getMinConcurrency());
+        applyListenerExecutor(factory, "coupon-issued-");
 
         // 재시도/DLQ 처리
         factory.setCommonErrorHandler(errorHandler());
@@ -102,11 +140,22 @@ public class CouponConsumerConfig {
         factory.setConsumerFactory(usedConsumerFactory);
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
         factory.getContainerProperties().setAsyncAcks(true);
-        factory.setConcurrency(3);
+        factory.setConcurrency(scalingProperties.getBounds(ListenerScalingProperties.USED_LISTENER).getMinConcurrency());
+        applyListenerExecutor(factory, "coupon-used-");
 
         return factory;
     }
 
+    // 가상 스레드 모드에서는 리스너 컨슈머 스레드도 가상 스레드로 실행
+    private void applyListenerExecutor(ConcurrentKafkaListenerContainerFactory<?, ?> factory, String threadNamePrefix) {
+        if (!virtualThreads) {
+            return;
+        }
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        factory.getContainerProperties().setListenerTaskExecutor(executor);
+    }
+
     @Bean
     public DefaultErrorHandler errorHandler() {
         // 실패한 레코드를 DLQ로 보내는 리커버러
@@ -0,0 +1,61 @@
+package com.firstcoupon.kafka;
+
+import com.firstcoupon.config.kafka.ListenerScalingProperties;
+import com.firstcoupon.domain.CouponIssuedEvent;
+import com.firstcoupon.service.CouponIssueService;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+/*
+    coupon-issued 묶음 처리
+    poll 단위로 받은 이벤트를 한 트랜잭션에서 다중 행 INSERT로 저장하고 묶음 전체를 커밋한다.
+    묶음 저장이 실패하면 레코드 단위로 다시 처리해 실패한 레코드의 위치를 에러 핸들러에 알린다.
+    에러 핸들러는 앞선 레코드의 오프셋을 커밋하고, 실패한 레코드는 재시도 후 DLQ로 보낸다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Profile("!test")
+@ConditionalOnProperty(name = "coupon.kafka.issued.listener-mode", havingValue = "batch")
+public class CouponIssuedBatchConsumer {
+
+    private static final Logger couponLogger = LoggerFactory.getLogger("CouponLogger");
+
+    private final CouponIssueService couponIssueService;
+
+    @KafkaListener(
+            id = ListenerScalingProperties.ISSUED_LISTENER,
+            topics = "coupon-issued",
+            groupId = "coupon-issued-group",
+            containerFactory = "issuedKafkaListenerContainerFactory"
+    )
+    public void consumeCouponIssuedEvents(List<CouponIssuedEvent> events, Acknowledgment ack) {
+        couponLogger.info("카프카 묶음 처리 시작 - 건수: {}", events.size());
+        try {
+            couponIssueService.handleCouponIssuedBatch(events);
+        } catch (Exception e) {
+            couponLogger.error("쿠폰 묶음 발급 실패, 레코드 단위로 재처리", e);
+            handleOneByOne(events);
+        }
+        ack.acknowledge();  // 묶음 전체 수동 커밋
+    }
+
+    private void handleOneByOne(List<CouponIssuedEvent> events) {
+        for (int i = 0; i < events.size(); i++) {
+            try {
+                couponIssueService.handleCouponIssued(events.get(i));
+            } catch (Exception e) {  // 실패한 레코드 위치를 에러 핸들러에 전달
+                throw new BatchListenerFailedException("쿠폰 발급 처리 중 오류 발생", e, i);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.firstcoupon.kafka;
+
+import com.firstcoupon.config.kafka.ListenerScalingProperties;
+import com.firstcoupon.domain.CouponIssuedEvent;
+import com.firstcoupon.service.CouponIssueService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Profile("!test")
+@ConditionalOnProperty(name = "coupon.kafka.issued.listener-mode", havingValue = "record", matchIfMissing = true)
+public class CouponIssuedConsumer {
+
+    private static final Logger couponLogger = LoggerFactory.getLogger("CouponLogger");
+
+    private final CouponIssueService couponIssueService;
+
+    @KafkaListener(
+            id = ListenerScalingProperties.ISSUED_LISTENER,
+            topics = "coupon-issued",
+            groupId = "coupon-issued-group",
+            containerFactory = "issuedKafkaListenerContainerFactory"
+    )
+    public void consumeCouponIssuedEvent(CouponIssuedEvent event, Acknowledgment ack) {
+        couponLogger.info("카프카 시작");
+        try {
+            log.info("쿠폰 발급 시도: email={}, couponId={}", event.getEmail(), event.getCouponId());
+            couponIssueService.handleCouponIssued(event);
+            ack.acknowledge();  // 수동 동기 커밋
+        } catch (Exception e) {
+            couponLogger.error("쿠폰 발급 처리 중 오류 발생, 이벤트 재처리 예정", e);
+            throw e;
+        }
+    }
+
+    // @KafkaListener(
+    //         topics = "coupon-issued-dlq",
+    //         groupId = "coupon-issued-dlq-group"
+    // )
+    // public void consumeDlq(CouponIssuedEvent event, Acknowledgment ack) {
+    //     try {
+    //         couponIssueService.handleCouponIssued(event);
+    //         ack.acknowledge();
+    //     } catch (Exception e) {
+    //         couponLogger.error("DLQ 재처리 실패", e);
+    //     }
+    // }
+}
@@ -0,0 +1,178 @@
+package com.firstcoupon.kafka;
+
+import com.firstcoupon.config.kafka.IssuedListenerProperties;
+import com.firstcoupon.config.kafka.ListenerScalingProperties;
+import com.firstcoupon.domain.CouponIssuedEvent;
+import com.firstcoupon.service.CouponIssueService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+/*
+    coupon-issued 키 단위 병렬 처리
+    파티션에서 받은 레코드를 이메일 키로 워커에 나눠 처리하여, 파티션 수보다 많은 DB 쓰기를 동시에 수행한다.
+    같은 이메일의 레코드는 한 워커에서 순서대로 처리된다.
+    ack는 워커에서 순서와 상관없이 호출되고, 컨테이너(asyncAcks)는 앞선 오프셋이 모두 처리된 지점까지만 커밋한다.
+    리밸런싱 중 처리 중이던 레코드는 새 소유자에게 다시 전달될 수 있으며, 저장은 ON DUPLICATE KEY UPDATE id = id로 멱등하다.
+    워커 큐가 가득 차면 리스너 스레드를 막지 않고 해당 파티션을 일시 정지하며, 워커 큐가 줄어들면 재개한다.
+    정지는 다음 poll부터 적용되므로 워커 큐는 이미 받아온 레코드(max.poll.records)만큼 용량을 넘을 수 있다.
+    ack를 빠뜨리면 그 뒤 오프셋이 커밋되지 않으므로, DLQ 전송 재시도가 소진되면 ack 없이 리스너 컨테이너를 정지한다.
+    커밋되지 않은 레코드는 리밸런싱 후 다른 노드 또는 재시작 후 다시 전달된다.
+ */
+@Slf4j
+@Component
+@Profile("!test")
+@ConditionalOnProperty(name = "coupon.kafka.issued.listener-mode", havingValue = "parallel")
+public class CouponIssuedParallelConsumer {
+
+    private static final Logger couponLogger = LoggerFactory.getLogger("CouponLogger");
+    private static final String DLQ_TOPIC = "coupon-issued-dlq";
+
+    private final CouponIssueService couponIssueService;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final IssuedListenerProperties properties;
+    private final KafkaListenerEndpointRegistry registry;
+    private final KeyedWorkerPool workerPool;
+    private final Set<TopicPartition> pausedPartitions = ConcurrentHashMap.newKeySet();
+    private volatile boolean running = true;
+
+    public CouponIssuedParallelConsumer(CouponIssueService couponIssueService,
+                                        KafkaTemplate<String, Object> kafkaTemplate,
+                                        IssuedListenerProperties properties,
+                                        KafkaListenerEndpointRegistry registry,
+                                        MeterRegistry meterRegistry) {
+        this.couponIssueService = couponIssueService;
+        this.kafkaTemplate = kafkaTemplate;
+        this.properties = properties;
+        this.registry = registry;
+        this.workerPool = new KeyedWorkerPool("coupon-issued-worker",
+                properties.getParallelWorkers(), properties.getParallelQueueCapacity());
+
+        Gauge.builder("coupon.kafka.issued.parallel.pending", workerPool, KeyedWorkerPool::pending)
+                .description("워커에서 처리 대기 중인 coupon-issued 레코드 수")
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(
+            id = ListenerScalingProperties.ISSUED_LISTENER,
+            topics = "coupon-issued",
+            groupId = "coupon-issued-group",
+            containerFactory = "issuedKafkaListenerContainerFactory"
+    )
+    public void consumeCouponIssuedEvent(ConsumerRecord<String, CouponIssuedEvent> record, Acknowledgment ack) {
+        CouponIssuedEvent event = record.value();
+        boolean accepted = workerPool.submit(event.getEmail(), () -> {  //같은 이메일은 같은 워커에서 순서대로 처리
+            if (process(record)) {
+                ack.acknowledge();
+            }
+        });
+        if (!accepted) {  //워커 큐가 가득 차면 파티션을 멈춤(리스너 스레드는 대기하지 않음)
+            pause(new TopicPartition(record.topic(), record.partition()));
+        }
+    }
+
+    //pause와 resume은 같은 락에서 실행되어, 재개 직후 정지된 파티션이 재개 대상에서 빠지지 않음
+    private synchronized void pause(TopicPartition partition) {
+        MessageListenerContainer container = registry.getListenerContainer(ListenerScalingProperties.ISSUED_LISTENER);
+        if (container != null && pausedPartitions.add(partition)) {
+            container.pausePartition(partition);
+            couponLogger.warn("워커 큐 포화, 파티션 일시 정지 - 파티션: {}, 대기: {}", partition, workerPool.pending());
+        }
+        workerPool.notifyWhenDrained(this::resume);
+    }
+
+    private synchronized void resume() {
+        MessageListenerContainer container = registry.getListenerContainer(ListenerScalingProperties.ISSUED_LISTENER);
+        for (TopicPartition partition : pausedPartitions) {
+            if (container != null) {
+                container.resumePartition(partition);
+            }
+            pausedPartitions.remove(partition);
+        }
+        couponLogger.info("워커 큐 여유 확보, 파티션 재개 - 대기: {}", workerPool.pending());
+    }
+
+    //처리 또는 DLQ 기록이 끝나면 true, 종료 중이라 끝내지 못했으면 false(재시작 후 다시 전달됨)
+    private boolean process(ConsumerRecord<String, CouponIssuedEvent> record) {
+        long backoff = 1_000L;
+        for (int attempt = 0; ; attempt++) {
+            try {
+                couponIssueService.handleCouponIssued(record.value());
+                return true;
+            } catch (Exception e) {
+                if (attempt >= properties.getParallelRetries()) {  //재시도 소진 시 DLQ로 보냄
+                    couponLogger.error("쿠폰 발급 처리 실패, DLQ로 이동 - 파티션: {}, 오프셋: {}",
+                            record.partition(), record.offset(), e);
+                    return sendToDlq(record);
+                }
+                couponLogger.warn("쿠폰 발급 처리 실패, {}ms 후 재시도 - 오프셋: {}", backoff, record.offset());
+                sleep(backoff);
+                backoff = Math.min(backoff * 2, 4_000L);
+            }
+        }
+    }
+
+    //DLQ 기록이 확인된 뒤에만 ack, 재시도가 소진되면 리스너를 정지하고 ack하지 않음
+    private boolean sendToDlq(ConsumerRecord<String, CouponIssuedEvent> record) {
+        long backoff = 1_000L;
+        for (int attempt = 0; running && !Thread.currentThread().isInterrupted(); attempt++) {
+            try {
+                kafkaTemplate.send(DLQ_TOPIC, record.partition(), record.key(), record.value())
+                        .get(10, TimeUnit.SECONDS);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                if (attempt >= properties.getParallelDlqRetries()) {
+                    couponLogger.error("DLQ 전송 재시도 소진, 리스너 정지 - 파티션: {}, 오프셋: {}",
+                            record.partition(), record.offset(), e);
+                    stopListener();
+                    return false;
+                }
+                couponLogger.error("DLQ 전송 실패, {}ms 후 재시도 - 파티션: {}, 오프셋: {}",
+                        backoff, record.partition(), record.offset(), e);
+                sleep(backoff);
+                backoff = Math.min(backoff * 2, 30_000L);
+            }
+        }
+        return false;
+    }
+
+    //커밋되지 않은 레코드가 리밸런싱 후 다른 컨슈머에게 다시 전달되도록 컨테이너를 비동기로 정지
+    private void stopListener() {
+        MessageListenerContainer container = registry.getListenerContainer(ListenerScalingProperties.ISSUED_LISTENER);
+        if (container != null && container.isRunning()) {
+            container.stop(() -> couponLogger.error("coupon-issued 리스너 정지 완료, 재시작 필요"));
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;  //DLQ 재시도 중인 워커를 멈춤, ack하지 않은 레코드는 재시작 후 다시 전달됨
+        workerPool.shutdown(30, TimeUnit.SECONDS);
+    }
+}
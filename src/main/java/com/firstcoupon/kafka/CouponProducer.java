@@ -1,9 +1,11 @@
 package com.firstcoupon.kafka;
 
+import com.firstcoupon.config.kafka.IssuedProducerProperties;
 import com.firstcoupon.domain.CouponIssuedEvent;
-import com.firstcoupon.domain.CouponUsedEvent;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -11,12 +13,14 @@ import org.springframework.stereotype.Component;
 public class CouponProducer {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final IssuedProducerProperties issuedProducerProperties;
 
-    public void send(String email, Long couponId) {
-        kafkaTemplate.send("coupon-issued", String.valueOf(couponId), new CouponIssuedEvent(email, couponId));
+    public CompletableFuture<SendResult<String, Object>> send(String email, Long couponId) {
+        return send(email, couponId, null);
     }
 
-    public void send(String email, String couponName) {
-        kafkaTemplate.send("coupon-used", new CouponUsedEvent(email, couponName));
+    public CompletableFuture<SendResult<String, Object>> send(String email, Long couponId, String serial) {
+        String key = issuedProducerProperties.getKeyStrategy().key(email, couponId);  //키 전략에 따라 파티션 결정
+        return kafkaTemplate.send("coupon-issued", key, new CouponIssuedEvent(email, couponId, serial));
     }
 }
@@ -1,15 +1,20 @@
 package com.firstcoupon.kafka;
 
 import static org.apache.kafka.clients.producer.ProducerConfig.BOOTSTRAP_SERVERS_CONFIG;
+import static org.apache.kafka.clients.producer.ProducerConfig.COMPRESSION_TYPE_CONFIG;
 import static org.apache.kafka.clients.producer.ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG;
 import static org.apache.kafka.clients.producer.ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG;
 import static org.apache.kafka.clients.producer.ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG;
 import static org.springframework.kafka.support.serializer.JsonSerializer.ADD_TYPE_INFO_HEADERS;
 
+import com.firstcoupon.config.kafka.KafkaCodecProperties;
+import com.firstcoupon.config.kafka.KafkaTopicProperties;
+import com.firstcoupon.kafka.codec.BinaryEventSerializer;
 import java.util.HashMap;
 import java.util.Map;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.config.TopicConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
@@ -26,14 +31,19 @@ import org.springframework.kafka.support.serializer.JsonSerializer;
 public class CouponProducerConfig {
 
     @Bean
-    public ProducerFactory<String, Object> producerFactory(KafkaProperties properties) {
+    public ProducerFactory<String, Object> producerFactory(KafkaProperties properties,
+                                                           KafkaCodecProperties codecProperties) {
         Map<String, Object> config = new HashMap<>(properties.buildProducerProperties());
 
         config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
         config.put(ADD_TYPE_INFO_HEADERS, false);
         config.put(ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(COMPRESSION_TYPE_CONFIG, codecProperties.getProducerCompression());
 
+        if (codecProperties.isBinary()) {  // 리플렉션 없는 바이너리 코덱
+            return new DefaultKafkaProducerFactory<>(config, new StringSerializer(), new BinaryEventSerializer());
+        }
         return new DefaultKafkaProducerFactory<>(config);
     }
 
@@ -43,18 +53,29 @@ public class CouponProducerConfig {
     }
 
     @Bean
-    public NewTopic couponIssuedTopic() {
+    public NewTopic couponIssuedTopic(KafkaCodecProperties codecProperties, KafkaTopicProperties topicProperties) {
         return TopicBuilder.name("coupon-issued")
-                .partitions(3)
+                .partitions(topicProperties.getPartitions("coupon-issued"))  //기존 토픽보다 크면 KafkaAdmin이 파티션 추가
                 .replicas(3)
+                .config(TopicConfig.COMPRESSION_TYPE_CONFIG, codecProperties.getTopicCompression("coupon-issued"))
                 .build();
     }
 
+    //DLQ 전송은 원본 파티션 번호를 그대로 사용하므로 원본 토픽과 같은 파티션 수로 선언
     @Bean
-    public NewTopic couponUsedTopic() {
+    public NewTopic couponIssuedDlqTopic(KafkaTopicProperties topicProperties) {
+        return TopicBuilder.name("coupon-issued-dlq")
+                .partitions(topicProperties.getPartitions("coupon-issued"))
+                .replicas(3)
+                .build();
+    }
+
+    @Bean
+    public NewTopic couponUsedTopic(KafkaCodecProperties codecProperties, KafkaTopicProperties topicProperties) {
         return TopicBuilder.name("coupon-used")
-                .partitions(3)
+                .partitions(topicProperties.getPartitions("coupon-used"))
                 .replicas(3)
+                .config(TopicConfig.COMPRESSION_TYPE_CONFIG, codecProperties.getTopicCompression("coupon-used"))
                 .build();
     }
 }
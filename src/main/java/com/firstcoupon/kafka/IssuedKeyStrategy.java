@@ -0,0 +1,24 @@
+package com.firstcoupon.kafka;
+
+/*
+    coupon-issued 레코드 키 전략
+    COUPON: 쿠폰 ID를 키로 사용하여 한 쿠폰의 이벤트가 한 파티션에 몰린다.
+    EMAIL: 사용자 이메일을 키로 사용하여 한 쿠폰의 이벤트를 모든 파티션에 분산하고, 사용자별 순서는 유지한다.
+ */
+public enum IssuedKeyStrategy {
+
+    COUPON {
+        @Override
+        public String key(String email, Long couponId) {
+            return String.valueOf(couponId);
+        }
+    },
+    EMAIL {
+        @Override
+        public String key(String email, Long couponId) {
+            return email;
+        }
+    };
+
+    public abstract String key(String email, Long couponId);
+}
@@ -0,0 +1,97 @@
+package com.firstcoupon.kafka;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/*
+    키 단위 순서 보장 워커 풀
+    같은 키의 작업은 항상 같은 워커(단일 스레드)에 들어가 제출 순서대로 실행된다.
+    submit은 대기하지 않는다(호출하는 컨슈머 스레드가 poll 간격을 넘겨 그룹에서 제외되지 않도록).
+    워커 큐가 용량에 도달하면 작업은 받되 false를 반환하므로, 호출한 쪽이 입력을 멈추고(backpressure)
+    notifyWhenDrained로 모든 워커 큐가 용량의 절반 이하로 줄어든 시점에 다시 재개한다.
+ */
+public class KeyedWorkerPool {
+
+    private static final Logger couponLogger = LoggerFactory.getLogger("CouponLogger");
+
+    private final List<BlockingQueue<Runnable>> lanes;
+    private final int queueCapacity;
+    private final ExecutorService executor;
+    private final AtomicReference<Runnable> drainedCallback = new AtomicReference<>();
+    private volatile boolean running = true;
+
+    public KeyedWorkerPool(String name, int workers, int queueCapacity) {
+        this.lanes = new ArrayList<>(workers);
+        this.queueCapacity = queueCapacity;
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(workers, r -> new Thread(r, name + "-" + sequence.incrementAndGet()));
+        for (int i = 0; i < workers; i++) {
+            BlockingQueue<Runnable> lane = new LinkedBlockingQueue<>();  //입력을 멈추기 전까지 받은 작업은 용량을 넘어도 보관
+            lanes.add(lane);
+            executor.submit(() -> drain(lane));
+        }
+    }
+
+    //작업을 워커 큐에 넣고, 큐가 용량에 도달했으면 false
+    public boolean submit(String key, Runnable task) {
+        BlockingQueue<Runnable> lane = lanes.get(Math.floorMod(key == null ? 0 : key.hashCode(), lanes.size()));
+        lane.add(task);
+        return lane.size() < queueCapacity;
+    }
+
+    //모든 워커 큐가 절반 이하로 줄면 callback을 한 번 실행(이미 줄어 있으면 바로 실행)
+    public void notifyWhenDrained(Runnable callback) {
+        drainedCallback.set(callback);
+        fireIfDrained();
+    }
+
+    public int pending() {
+        return lanes.stream().mapToInt(BlockingQueue::size).sum();
+    }
+
+    private boolean drained() {
+        return lanes.stream().allMatch(lane -> lane.size() <= queueCapacity / 2);
+    }
+
+    private void fireIfDrained() {
+        Runnable callback = drainedCallback.get();
+        if (callback != null && drained() && drainedCallback.compareAndSet(callback, null)) {
+            callback.run();
+        }
+    }
+
+    private void drain(BlockingQueue<Runnable> lane) {
+        while (running || !lane.isEmpty()) {
+            try {
+                Runnable task = lane.poll(1, TimeUnit.SECONDS);
+                if (task != null) {
+                    try {
+                        task.run();
+                    } finally {
+                        fireIfDrained();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {  //작업 실패가 워커를 멈추지 않도록 함
+                couponLogger.error("워커 작업 실패", e);
+            }
+        }
+    }
+
+    public void shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        running = false;  //남은 작업을 처리한 뒤 종료
+        executor.shutdown();
+        executor.awaitTermination(timeout, unit);
+    }
+}
@@ -0,0 +1,260 @@
+package com.firstcoupon.kafka;
+
+import com.firstcoupon.config.kafka.ListenerScalingProperties;
+import com.firstcoupon.config.kafka.ListenerScalingProperties.Bounds;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsResult.ListOffsetsResultInfo;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/*
+    랙 기반 리스너 동시성 조절
+    주기마다 이 노드에 할당된 파티션의 랙과 컨슈머당 처리량(커밋 오프셋 증가량, 없으면 리스너 처리 시간)을 확인해
+    랙을 targetDrainTime 안에 소진할 수 있는 동시성으로 컨테이너를 재시작한다.
+    그룹 전체 랙을 쓰면 모든 노드가 같은 랙을 보고 동시에 확대하므로, 노드별로 자기 몫의 랙만 본다.
+    동시성은 설정 범위와 할당된 파티션 수를 넘지 않는다.
+    재시작은 그룹 전체의 리밸런싱을 일으키므로, 재시작 후 파티션을 다시 할당받을 때까지 변경하지 않고
+    그 시점부터 cooldown과 직전 리밸런싱 시간의 2배 중 긴 시간 동안 다시 변경하지 않는다.
+    AdminClient 호출은 최대 수십 초 대기할 수 있으므로 공용 스케줄러가 아닌 전용 스레드에서 실행한다.
+ */
+@Component
+@Profile("!test")
+@ConditionalOnProperty(name = "coupon.kafka.scaling.enabled", havingValue = "true", matchIfMissing = true)
+public class ListenerConcurrencyScaler {
+
+    private static final Logger couponLogger = LoggerFactory.getLogger("CouponLogger");
+
+    private final KafkaListenerEndpointRegistry registry;
+    private final ListenerScalingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final AdminClient adminClient;
+    private final ScheduledExecutorService executor;
+    private final Map<String, ListenerState> states = new ConcurrentHashMap<>();
+
+    public ListenerConcurrencyScaler(KafkaListenerEndpointRegistry registry,
+                                     ListenerScalingProperties properties,
+                                     MeterRegistry meterRegistry,
+                                     KafkaAdmin kafkaAdmin) {
+        this.registry = registry;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties());
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "listener-scaler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        executor.scheduleWithFixedDelay(this::scale, properties.getIntervalMs(), properties.getIntervalMs(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    public void scale() {
+        for (MessageListenerContainer container : registry.getListenerContainers()) {
+            if (container instanceof ConcurrentMessageListenerContainer<?, ?> concurrent
+                    && container.isRunning()  //재시작 중인 컨테이너는 건너뜀
+                    && properties.getListeners().containsKey(container.getListenerId())) {
+                try {
+                    scale(concurrent);
+                } catch (Exception e) {
+                    couponLogger.error("리스너 동시성 조절 실패 - 리스너: {}", container.getListenerId(), e);
+                }
+            }
+        }
+    }
+
+    private void scale(ConcurrentMessageListenerContainer<?, ?> container) throws Exception {
+        String listenerId = container.getListenerId();
+        ListenerState state = states.computeIfAbsent(listenerId, id -> register(id, container.getConcurrency()));
+        Collection<TopicPartition> assigned = container.getAssignedPartitions();
+        if (assigned == null || assigned.isEmpty()) {  //리밸런싱 중이거나 할당된 파티션이 없음
+            return;
+        }
+        Set<TopicPartition> partitions = Set.copyOf(assigned);
+        long now = System.nanoTime();
+        state.assigned(partitions, now);
+
+        Map<TopicPartition, OffsetAndMetadata> committed = adminClient.listConsumerGroupOffsets(container.getGroupId())
+                .partitionsToOffsetAndMetadata().get(10, TimeUnit.SECONDS).entrySet().stream()
+                .filter(entry -> partitions.contains(entry.getKey()) && entry.getValue() != null)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        Map<TopicPartition, ListOffsetsResultInfo> ends = adminClient.listOffsets(partitions.stream()
+                        .collect(Collectors.toMap(partition -> partition, partition -> OffsetSpec.latest())))
+                .all().get(10, TimeUnit.SECONDS);
+
+        long committedTotal = 0;
+        long lag = 0;
+        for (TopicPartition partition : partitions) {
+            long end = ends.get(partition).offset();
+            OffsetAndMetadata offset = committed.get(partition);
+            long position = offset == null ? 0 : offset.offset();
+            committedTotal += position;
+            lag += Math.max(0, end - position);
+        }
+
+        int current = container.getConcurrency();
+        double perConsumerRate = state.perConsumerRate(committedTotal, current,
+                processingSeconds(listenerId, state), now);
+        state.lag.set(lag);
+
+        int desired = desiredConcurrency(properties, properties.getBounds(listenerId), lag, perConsumerRate, current,
+                partitions.size());
+        if (desired == current || state.inCooldown(now, properties.getCooldown())) {
+            return;
+        }
+
+        state.changed(now);
+        state.concurrency.set(desired);
+        String direction = desired > current ? "up" : "down";
+        meterRegistry.counter("coupon.kafka.listener.scaling", Tags.of("listener", listenerId, "direction", direction))
+                .increment();
+        couponLogger.info("리스너 동시성 변경 - 리스너: {}, {} -> {}, 랙: {}, 컨슈머당 처리량: {}/s, 할당 파티션: {}",
+                listenerId, current, desired, lag, String.format("%.1f", perConsumerRate), partitions.size());
+
+        container.stop(() -> {  //동시성은 재시작 시점에 적용됨
+            container.setConcurrency(desired);
+            container.start();
+            state.restarted();  //cooldown은 이후 파티션을 다시 할당받은 시점부터 계산
+        });
+    }
+
+    static int desiredConcurrency(ListenerScalingProperties properties, Bounds bounds, long lag,
+                                  double perConsumerRate, int current, int partitionCount) {
+        int max = Math.min(bounds.getMaxConcurrency(), partitionCount);
+        int min = Math.min(bounds.getMinConcurrency(), max);
+
+        int desired;
+        if (lag < properties.getScaleDownLag()) {  //랙이 거의 없으면 한 단계씩 축소
+            desired = current - 1;
+        } else if (perConsumerRate <= 0) {  //처리량을 아직 모르면 한 단계씩 확대
+            desired = current + 1;
+        } else {
+            double drainSeconds = properties.getTargetDrainTime().toMillis() / 1000.0;
+            desired = (int) Math.ceil(lag / (perConsumerRate * drainSeconds));
+        }
+        return Math.max(min, Math.min(max, desired));
+    }
+
+    //리스너 처리 시간(spring.kafka.listener 타이머)의 구간 평균, 기록이 없으면 0
+    private double processingSeconds(String listenerId, ListenerState state) {
+        long count = 0;
+        double totalSeconds = 0;
+        for (Timer timer : meterRegistry.find("spring.kafka.listener").tag("result", "success").timers()) {
+            String name = timer.getId().getTag("name");
+            if (name != null && name.startsWith(listenerId)) {
+                count += timer.count();
+                totalSeconds += timer.totalTime(TimeUnit.SECONDS);
+            }
+        }
+        long countDelta = count - state.lastTimerCount;
+        double timeDelta = totalSeconds - state.lastTimerSeconds;
+        state.lastTimerCount = count;
+        state.lastTimerSeconds = totalSeconds;
+        return countDelta > 0 ? timeDelta / countDelta : 0;
+    }
+
+    private ListenerState register(String listenerId, int concurrency) {
+        ListenerState state = new ListenerState(concurrency, System.nanoTime());
+        meterRegistry.gauge("coupon.kafka.listener.concurrency", Tags.of("listener", listenerId), state.concurrency);
+        meterRegistry.gauge("coupon.kafka.consumer.lag", Tags.of("listener", listenerId), state.lag);
+        return state;
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+        adminClient.close();
+    }
+
+    static class ListenerState {
+
+        private final AtomicLong concurrency = new AtomicLong();
+        private final AtomicLong lag = new AtomicLong();
+        private long lastCommitted = -1;
+        private long lastSampledAt;
+        private long lastChangedAt;
+        private boolean everChanged;
+        private boolean restarting;
+        private volatile boolean restarted;
+        private long lastRebalanceNanos;
+        private Set<TopicPartition> partitions = Set.of();
+        private long lastTimerCount;
+        private double lastTimerSeconds;
+
+        ListenerState(int concurrency, long now) {
+            this.concurrency.set(concurrency);
+            this.lastSampledAt = now;
+        }
+
+        //재시작 후 파티션을 다시 할당받을 때까지, 이후 cooldown과 리밸런싱 시간의 2배 중 긴 시간 동안 변경하지 않음
+        boolean inCooldown(long now, Duration cooldown) {
+            long effective = Math.max(cooldown.toNanos(), lastRebalanceNanos * 2);
+            return restarting || (everChanged && now - lastChangedAt < effective);
+        }
+
+        void changed(long now) {
+            everChanged = true;
+            restarting = true;
+            restarted = false;
+            lastChangedAt = now;
+        }
+
+        void restarted() {
+            restarted = true;
+        }
+
+        //할당된 파티션 확인, 재시작 후 처음이면 리밸런싱 완료로 기록하고 할당이 바뀌면 처리량 기준값을 초기화
+        void assigned(Set<TopicPartition> assigned, long now) {
+            if (restarting && restarted) {
+                restarting = false;
+                lastRebalanceNanos = now - lastChangedAt;
+                lastChangedAt = now;
+            }
+            if (!assigned.equals(partitions)) {
+                partitions = assigned;
+                lastCommitted = -1;
+            }
+        }
+
+        //커밋 오프셋 증가량으로 계산한 컨슈머당 처리량, 증가가 없으면 처리 시간으로 추정
+        double perConsumerRate(long committedTotal, int concurrency, double processingSeconds, long now) {
+            double elapsedSeconds = (now - lastSampledAt) / 1_000_000_000.0;
+            long delta = lastCommitted < 0 ? 0 : committedTotal - lastCommitted;
+            lastCommitted = committedTotal;
+            lastSampledAt = now;
+
+            if (delta > 0 && elapsedSeconds > 0) {
+                return delta / elapsedSeconds / Math.max(1, concurrency);
+            }
+            return processingSeconds > 0 ? 1 / processingSeconds : 0;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.firstcoupon.kafka.codec;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/*
+    바이너리 이벤트 역직렬화
+    MAGIC 바이트로 시작하지 않는 메시지(전환 이전의 JSON 메시지)는 fallback 역직렬화기로 처리한다.
+ */
+public class BinaryEventDeserializer<T> implements Deserializer<T> {
+
+    private final Class<T> type;
+    private final Deserializer<T> fallback;
+
+    public BinaryEventDeserializer(Class<T> type, Deserializer<T> fallback) {
+        this.type = type;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public T deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (!EventCodecs.isBinary(data)) {
+            return fallback.deserialize(topic, data);
+        }
+        Object event = EventCodecs.decode(data);
+        if (!type.isInstance(event)) {
+            throw new SerializationException("토픽 " + topic + "에 예상하지 못한 이벤트 타입입니다: " + event.getClass().getName());
+        }
+        return type.cast(event);
+    }
+
+    @Override
+    public void close() {
+        fallback.close();
+    }
+}
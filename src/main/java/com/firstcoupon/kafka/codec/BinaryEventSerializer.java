@@ -0,0 +1,11 @@
+package com.firstcoupon.kafka.codec;
+
+import org.apache.kafka.common.serialization.Serializer;
+
+public class BinaryEventSerializer implements Serializer<Object> {
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return data == null ? null : EventCodecs.encode(data);
+    }
+}
@@ -0,0 +1,56 @@
+package com.firstcoupon.kafka.codec;
+
+import java.nio.charset.StandardCharsets;
+import org.apache.kafka.common.errors.SerializationException;
+
+/*
+    BinaryOutput 형식을 읽는 입력 버퍼
+ */
+public final class BinaryInput {
+
+    private final byte[] buffer;
+    private int position;
+
+    public BinaryInput(byte[] buffer, int position) {
+        this.buffer = buffer;
+        this.position = position;
+    }
+
+    public byte readByte() {
+        if (position >= buffer.length) {
+            throw new SerializationException("메시지 길이가 올바르지 않습니다.");
+        }
+        return buffer[position++];
+    }
+
+    public long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new SerializationException("varint 형식이 올바르지 않습니다.");
+    }
+
+    public Long readNullableLong() {
+        long value = readVarLong();
+        return value == 0 ? null : value - 1;
+    }
+
+    public String readString() {
+        long length = readVarLong();
+        if (length == 0) {
+            return null;
+        }
+        int size = (int) (length - 1);
+        if (size < 0 || position + size > buffer.length) {
+            throw new SerializationException("문자열 길이가 올바르지 않습니다.");
+        }
+        String value = new String(buffer, position, size, StandardCharsets.UTF_8);
+        position += size;
+        return value;
+    }
+}
@@ -0,0 +1,39 @@
+package com.firstcoupon.kafka.codec;
+
+import com.firstcoupon.domain.CouponIssuedEvent;
+
+/*
+    v1: email, couponId, serial
+ */
+public class CouponIssuedEventCodec implements EventCodec<CouponIssuedEvent> {
+
+    @Override
+    public byte typeId() {
+        return 1;
+    }
+
+    @Override
+    public byte version() {
+        return 1;
+    }
+
+    @Override
+    public Class<CouponIssuedEvent> type() {
+        return CouponIssuedEvent.class;
+    }
+
+    @Override
+    public void write(CouponIssuedEvent event, BinaryOutput out) {
+        out.writeString(event.getEmail());
+        out.writeNullableLong(event.getCouponId());
+        out.writeString(event.getSerial());
+    }
+
+    @Override
+    public CouponIssuedEvent read(byte version, BinaryInput in) {
+        String email = in.readString();
+        Long couponId = in.readNullableLong();
+        String serial = in.readString();
+        return new CouponIssuedEvent(email, couponId, serial);
+    }
+}
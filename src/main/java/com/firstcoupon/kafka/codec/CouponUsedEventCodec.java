@@ -0,0 +1,37 @@
+package com.firstcoupon.kafka.codec;
+
+import com.firstcoupon.domain.CouponUsedEvent;
+
+/*
+    v1: email, couponName
+ */
+public class CouponUsedEventCodec implements EventCodec<CouponUsedEvent> {
+
+    @Override
+    public byte typeId() {
+        return 2;
+    }
+
+    @Override
+    public byte version() {
+        return 1;
+    }
+
+    @Override
+    public Class<CouponUsedEvent> type() {
+        return CouponUsedEvent.class;
+    }
+
+    @Override
+    public void write(CouponUsedEvent event, BinaryOutput out) {
+        out.writeString(event.getEmail());
+        out.writeString(event.getCouponName());
+    }
+
+    @Override
+    public CouponUsedEvent read(byte version, BinaryInput in) {
+        String email = in.readString();
+        String couponName = in.readString();
+        return new CouponUsedEvent(email, couponName);
+    }
+}
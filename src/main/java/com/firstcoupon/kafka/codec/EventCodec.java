@@ -0,0 +1,21 @@
+package com.firstcoupon.kafka.codec;
+
+/*
+    이벤트 바이너리 코덱
+    메시지 형식: [MAGIC(1)][typeId(1)][version(1)][본문]
+    본문 필드를 추가할 때는 version을 올리고 끝에만 추가하며, decode는 이전 version도 읽을 수 있어야 한다.
+ */
+public interface EventCodec<T> {
+
+    byte MAGIC = (byte) 0xB1;
+
+    byte typeId();
+
+    byte version();
+
+    Class<T> type();
+
+    void write(T event, BinaryOutput out);
+
+    T read(byte version, BinaryInput in);
+}
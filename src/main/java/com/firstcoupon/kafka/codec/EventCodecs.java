@@ -0,0 +1,59 @@
+package com.firstcoupon.kafka.codec;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.apache.kafka.common.errors.SerializationException;
+
+/*
+    등록된 이벤트 코덱 목록
+    새 이벤트 타입은 EventCodec 구현을 만들고 CODECS에 추가한다.
+ */
+public final class EventCodecs {
+
+    private static final List<EventCodec<?>> CODECS = List.of(
+            new CouponIssuedEventCodec(),
+            new CouponUsedEventCodec()
+    );
+
+    private static final Map<Class<?>, EventCodec<?>> BY_TYPE = CODECS.stream()
+            .collect(Collectors.toUnmodifiableMap(EventCodec::type, Function.identity()));
+
+    private static final Map<Byte, EventCodec<?>> BY_ID = CODECS.stream()
+            .collect(Collectors.toUnmodifiableMap(EventCodec::typeId, Function.identity()));
+
+    private EventCodecs() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static byte[] encode(Object event) {
+        EventCodec<Object> codec = (EventCodec<Object>) BY_TYPE.get(event.getClass());
+        if (codec == null) {
+            throw new SerializationException("바이너리 코덱이 없는 이벤트입니다: " + event.getClass().getName());
+        }
+        BinaryOutput out = new BinaryOutput(64);
+        out.writeByte(EventCodec.MAGIC);
+        out.writeByte(codec.typeId());
+        out.writeByte(codec.version());
+        codec.write(event, out);
+        return out.toByteArray();
+    }
+
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length >= 3 && data[0] == EventCodec.MAGIC;
+    }
+
+    public static Object decode(byte[] data) {
+        BinaryInput in = new BinaryInput(data, 1);
+        EventCodec<?> codec = BY_ID.get(in.readByte());
+        if (codec == null) {
+            throw new SerializationException("알 수 없는 이벤트 타입입니다: " + data[1]);
+        }
+        byte version = in.readByte();
+        if (version > codec.version()) {  //아직 배포되지 않은 스키마 버전
+            throw new SerializationException("지원하지 않는 스키마 버전입니다: " + version);
+        }
+        return codec.read(version, in);
+    }
+}
@@ -0,0 +1,205 @@
+package com.firstcoupon.mail;
+
+import com.firstcoupon.config.mail.MailDispatchProperties;
+import com.firstcoupon.domain.MailJob;
+import com.firstcoupon.domain.MailStatus;
+import com.firstcoupon.repository.MailJobRepository;
+import com.firstcoupon.service.EmailService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/*
+    메일 전송 파이프라인
+    submit: 메일 작업을 DB에 저장(리스너 ack 전 영속화)한 뒤 크기가 제한된 큐에 넣는다. 큐가 가득 차면 잠시 대기한다.
+    워커: 큐에서 batchSize만큼 꺼내 풀에서 빌린 SMTP 연결 하나로 연달아 전송한다.
+    스위퍼: 실패했거나 큐에 들어가지 못한(혹은 노드 종료로 유실된) 작업을 재전송 시각이 지나면 다시 큐에 넣는다.
+ */
+@Component
+public class MailDispatcher {
+
+    private static final Logger couponLogger = LoggerFactory.getLogger("CouponLogger");
+
+    private final MailJobRepository mailJobRepository;
+    private final EmailService emailService;
+    private final SmtpTransportPool transportPool;
+    private final TransactionTemplate transactionTemplate;
+    private final MailDispatchProperties properties;
+    private final BlockingQueue<Long> queue;
+    private final ExecutorService workers;
+    private final Timer sendTimer;
+    private final Counter failureCounter;
+    private volatile boolean running = true;
+
+    public MailDispatcher(MailJobRepository mailJobRepository,
+                          EmailService emailService,
+                          SmtpTransportPool transportPool,
+                          TransactionTemplate transactionTemplate,
+                          MailDispatchProperties properties,
+                          MeterRegistry meterRegistry) {
+        this.mailJobRepository = mailJobRepository;
+        this.emailService = emailService;
+        this.transportPool = transportPool;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.queue = new LinkedBlockingQueue<>(properties.getQueueCapacity());
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(properties.getWorkers(),
+                r -> new Thread(r, "mail-dispatch-" + sequence.incrementAndGet()));
+
+        Gauge.builder("coupon.mail.queue.depth", queue, BlockingQueue::size)
+                .description("전송 대기 중인 메일 수")
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("coupon.mail.send.latency")
+                .description("메일 한 통 전송 시간")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.failureCounter = meterRegistry.counter("coupon.mail.send.failure");
+    }
+
+    @PostConstruct
+    public void start() {
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            workers.submit(this::work);
+        }
+    }
+
+    public void submit(String email, String couponName) {
+        LocalDateTime nextAttemptAt = LocalDateTime.now().plus(properties.getStaleAfter());
+        MailJob job = mailJobRepository.save(MailJob.couponUsed(email, couponName, nextAttemptAt));  //영속화 후 ack
+
+        try {
+            if (!queue.offer(job.getId(), properties.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                couponLogger.warn("메일 큐가 가득 차 재전송 대상으로 남김 - 작업: {}", job.getId());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void work() {
+        List<Long> ids = new ArrayList<>(properties.getBatchSize());
+        while (running) {
+            try {
+                Long first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                ids.add(first);
+                queue.drainTo(ids, properties.getBatchSize() - 1);
+                sendBatch(ids);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                couponLogger.error("메일 전송 워커 오류", e);
+            } finally {
+                ids.clear();
+            }
+        }
+    }
+
+    private void sendBatch(List<Long> ids) throws InterruptedException {
+        List<MailJob> jobs = mailJobRepository.findAllById(ids).stream()
+                .filter(job -> job.getStatus() == MailStatus.PENDING)
+                .toList();
+        if (jobs.isEmpty()) {
+            return;
+        }
+
+        Transport transport;
+        try {
+            transport = transportPool.borrow();
+        } catch (MessagingException e) {  //연결 실패 시 묶음 전체를 재전송 대상으로 남김
+            couponLogger.error("SMTP 연결 실패", e);
+            jobs.forEach(this::fail);
+            return;
+        }
+
+        List<Long> sent = new ArrayList<>(jobs.size());
+        boolean broken = false;
+        for (MailJob job : jobs) {
+            if (broken) {
+                fail(job);
+                continue;
+            }
+            long start = System.nanoTime();
+            try {
+                MimeMessage message = emailService.createCouponUsedMessage(job.getEmail(), job.getCouponName());
+                message.saveChanges();
+                transport.sendMessage(message, message.getAllRecipients());  //같은 연결로 연달아 전송
+                sent.add(job.getId());
+            } catch (SendFailedException e) {  //수신자 문제는 해당 메일만 실패
+                couponLogger.error("메일 전송 실패 - 작업: {}", job.getId(), e);
+                fail(job);
+            } catch (Exception e) {  //연결 문제는 남은 메일을 다음 시도로 넘김
+                couponLogger.error("SMTP 연결 오류 - 작업: {}", job.getId(), e);
+                fail(job);
+                broken = true;
+            } finally {
+                sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+        transportPool.release(transport, broken);
+
+        if (!sent.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> mailJobRepository.markSent(sent, LocalDateTime.now()));
+        }
+    }
+
+    private void fail(MailJob job) {
+        failureCounter.increment();
+        LocalDateTime nextAttemptAt = LocalDateTime.now()
+                .plus(properties.getRetryBackoff().multipliedBy(job.getAttempts() + 1L));
+        transactionTemplate.executeWithoutResult(status ->
+                mailJobRepository.markFailed(job.getId(), nextAttemptAt, properties.getMaxAttempts()));
+    }
+
+    @Scheduled(fixedDelayString = "${coupon.mail.dispatch.sweep-interval-ms:10000}")
+    public void sweep() {
+        int capacity = queue.remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+        List<Long> due = transactionTemplate.execute(status -> {
+            List<Long> ids = mailJobRepository.findDueForUpdate(LocalDateTime.now(), capacity).stream()
+                    .map(MailJob::getId)
+                    .toList();
+            if (!ids.isEmpty()) {  //다른 노드가 다시 가져가지 않도록 재전송 시각을 미룸
+                mailJobRepository.reschedule(ids, LocalDateTime.now().plus(properties.getStaleAfter()));
+            }
+            return ids;
+        });
+        if (due != null) {
+            due.forEach(queue::offer);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;  //큐에 남은 작업은 DB에 PENDING으로 남아 재시작 후 스위퍼가 전송
+        workers.shutdown();
+    }
+}
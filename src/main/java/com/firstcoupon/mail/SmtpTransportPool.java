@@ -0,0 +1,78 @@
+package com.firstcoupon.mail;
+
+import com.firstcoupon.config.mail.MailDispatchProperties;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+/*
+    SMTP 연결 풀
+    연결(Transport)을 재사용하여 메일마다 연결/인증하는 비용을 없앤다.
+    끊어진 연결은 반납 시 닫고, 다음 대여 때 새로 연결한다.
+ */
+@Component
+public class SmtpTransportPool {
+
+    private static final Logger couponLogger = LoggerFactory.getLogger("CouponLogger");
+
+    private final JavaMailSenderImpl mailSender;
+    private final BlockingQueue<Transport> idle;
+    private final Semaphore permits;
+
+    public SmtpTransportPool(JavaMailSenderImpl mailSender, MailDispatchProperties properties) {
+        this.mailSender = mailSender;
+        this.idle = new ArrayBlockingQueue<>(properties.getMaxConnections());
+        this.permits = new Semaphore(properties.getMaxConnections());
+    }
+
+    public Transport borrow() throws MessagingException, InterruptedException {
+        permits.acquire();  //최대 연결 수 제한
+        try {
+            Transport transport = idle.poll();
+            if (transport != null && transport.isConnected()) {
+                return transport;
+            }
+            closeQuietly(transport);
+            transport = mailSender.getSession().getTransport(mailSender.getProtocol());
+            transport.connect(mailSender.getHost(), mailSender.getPort(),
+                    mailSender.getUsername(), mailSender.getPassword());
+            return transport;
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public void release(Transport transport, boolean broken) {
+        if (broken || !idle.offer(transport)) {
+            closeQuietly(transport);
+        }
+        permits.release();
+    }
+
+    @PreDestroy
+    public void close() {
+        Transport transport;
+        while ((transport = idle.poll()) != null) {
+            closeQuietly(transport);
+        }
+    }
+
+    private void closeQuietly(Transport transport) {
+        if (transport == null) {
+            return;
+        }
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            couponLogger.warn("SMTP 연결 종료 실패", e);
+        }
+    }
+}
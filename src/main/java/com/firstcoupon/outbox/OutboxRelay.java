@@ -0,0 +1,141 @@
+package com.firstcoupon.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firstcoupon.config.outbox.OutboxProperties;
+import com.firstcoupon.domain.CouponUsedEvent;
+import com.firstcoupon.domain.OutboxEvent;
+import com.firstcoupon.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/*
+    아웃박스 릴레이
+    미발행 행을 FOR UPDATE SKIP LOCKED로 묶음 조회해 claimTimeout 동안 점유 표시만 하고 트랜잭션을 바로 끝낸다.
+    카프카 발행과 브로커 응답 대기는 트랜잭션 밖에서 하고, 응답을 받은 뒤 짧은 트랜잭션으로 발행 완료로 표시한다.
+    발행에 실패하면 점유를 풀어 다음 주기에 다시 발행하고, 릴레이가 중간에 죽으면 점유가 만료된 뒤 다시 발행된다(at-least-once).
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger couponLogger = LoggerFactory.getLogger("CouponLogger");
+
+    private static final Map<String, Class<?>> EVENT_TYPES = Map.of(
+            "coupon-used", CouponUsedEvent.class
+    );
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       KafkaTemplate<String, Object> kafkaTemplate,
+                       ObjectMapper objectMapper,
+                       TransactionTemplate transactionTemplate,
+                       OutboxProperties properties,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+
+        //가장 오래된 미발행 이벤트의 대기 시간
+        Gauge.builder("coupon.outbox.lag", lagMillis, lag -> lag.get() / 1000.0)
+                .baseUnit("seconds")
+                .description("가장 오래된 미발행 아웃박스 이벤트의 대기 시간")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${coupon.outbox.poll-interval-ms:100}")
+    public void relay() {
+        try {
+            Integer sent;
+            do {
+                sent = relayBatch();
+            } while (sent != null && sent == properties.getBatchSize());  //밀린 행이 있으면 바로 다음 묶음 발행
+        } catch (Exception e) {
+            couponLogger.error("아웃박스 발행 실패, 다음 주기에 재시도", e);
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> events = transactionTemplate.execute(status -> claimBatch());
+        if (events == null || events.isEmpty()) {
+            lagMillis.set(0);
+            return 0;
+        }
+        lagMillis.set(Duration.between(events.get(0).getCreatedAt(), LocalDateTime.now()).toMillis());
+
+        List<Long> ids = events.stream().map(OutboxEvent::getId).toList();
+        try {
+            send(events);
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status -> outboxEventRepository.release(ids));
+            throw e;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.markSent(ids, LocalDateTime.now()));
+        return events.size();
+    }
+
+    //행 잠금은 점유 표시까지만 유지
+    private List<OutboxEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = outboxEventRepository.findUnsentForUpdate(now, properties.getBatchSize());
+        if (!events.isEmpty()) {
+            outboxEventRepository.claim(events.stream().map(OutboxEvent::getId).toList(),
+                    now.plus(properties.getClaimTimeout()));
+        }
+        return events;
+    }
+
+    private void send(List<OutboxEvent> events) {
+        List<CompletableFuture<?>> futures = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            futures.add(kafkaTemplate.send(event.getTopic(), event.getEventKey(), deserialize(event)));
+        }
+
+        try {  //브로커 응답을 모두 받은 뒤에만 발행 완료 처리
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                    .get(properties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (Exception e) {
+            throw new IllegalStateException("아웃박스 이벤트 발행 실패", e);
+        }
+    }
+
+    private Object deserialize(OutboxEvent event) {
+        try {
+            return objectMapper.readValue(event.getPayload(), EVENT_TYPES.get(event.getTopic()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("아웃박스 이벤트 역직렬화 실패 - id: " + event.getId(), e);
+        }
+    }
+
+    @Scheduled(cron = "0 0 * * * *")
+    public void cleanUp() {  //보관 기간이 지난 발행 완료 행 삭제
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteSentBefore(LocalDateTime.now().minus(properties.getRetention())));
+        couponLogger.info("발행 완료된 아웃박스 이벤트 삭제 - 건수: {}", deleted);
+    }
+}
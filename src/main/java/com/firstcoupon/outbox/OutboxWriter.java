@@ -0,0 +1,33 @@
+package com.firstcoupon.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firstcoupon.domain.OutboxEvent;
+import com.firstcoupon.exception.CouponError;
+import com.firstcoupon.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/*
+    아웃박스 기록
+    호출한 트랜잭션 안에서 이벤트를 outbox_event 테이블에 저장한다.
+    비즈니스 데이터와 함께 커밋된 이벤트만 OutboxRelay가 카프카로 발행한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String topic, String key, Object event) {
+        try {
+            outboxEventRepository.save(OutboxEvent.create(topic, key, objectMapper.writeValueAsString(event)));
+        } catch (JsonProcessingException e) {
+            throw new CouponError();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.firstcoupon.projection;
+
+import com.firstcoupon.repository.CouponRepository;
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/*
+    쿠폰 잔여 수량 프로젝션
+    컨슈머가 저장한 발급 수를 쿠폰별로 메모리에 모아 두고, 주기마다 쿠폰당 한 번의 UPDATE로 반영한다.
+    이벤트마다 coupon 행을 잠그지 않으므로 발급 저장과 잔여 수량 갱신이 경합하지 않는다.
+    노드가 비정상 종료되면 마지막 주기의 집계가 유실될 수 있다(관리자 조회용 값).
+ */
+@Component
+@RequiredArgsConstructor
+public class RemainingQuantityProjector {
+
+    private static final Logger couponLogger = LoggerFactory.getLogger("CouponLogger");
+
+    private final CouponRepository couponRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, AtomicLong> pending = new ConcurrentHashMap<>();
+
+    public void record(Long couponId, long issued) {
+        if (issued <= 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {  //커밋된 발급만 집계
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(couponId, issued);
+                }
+            });
+            return;
+        }
+        add(couponId, issued);
+    }
+
+    private void add(Long couponId, long issued) {
+        pending.computeIfAbsent(couponId, id -> new AtomicLong()).addAndGet(issued);
+    }
+
+    @Scheduled(fixedDelayString = "${coupon.projection.flush-interval-ms:1000}")
+    public void flush() {
+        Map<Long, Long> snapshot = new HashMap<>();
+        pending.forEach((couponId, count) -> {
+            long issued = count.getAndSet(0);
+            if (issued > 0) {
+                snapshot.put(couponId, issued);
+            }
+        });
+        if (snapshot.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    snapshot.forEach(couponRepository::decrementQuantityBy));
+        } catch (Exception e) {  //반영에 실패한 집계는 다음 주기에 다시 반영
+            couponLogger.error("잔여 수량 반영 실패, 다음 주기에 재시도", e);
+            snapshot.forEach(this::add);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+}
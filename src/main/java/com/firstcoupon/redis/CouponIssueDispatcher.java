@@ -0,0 +1,129 @@
+package com.firstcoupon.redis;
+
+import com.firstcoupon.cache.CouponMetadata;
+import com.firstcoupon.config.redis.CoalescingProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/*
+    같은 쿠폰에 대한 동시 발급 요청을 묶어서 Redis로 전송하는 디스패처
+    maxWait가 지나거나 maxBatchSize만큼 요청이 쌓이면 묶음 발급 스크립트를 한 번 실행하고,
+    각 요청자에게 자신의 -1/0/1 결과를 돌려준다.
+ */
+@Component
+public class CouponIssueDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger("CouponLogger");
+
+    private final StringRedisTemplate redisTemplate;
+    private final CoalescingProperties properties;
+    private final DistributionSummary batchSize;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, PendingBatch> batches = new ConcurrentHashMap<>();
+
+    public CouponIssueDispatcher(StringRedisTemplate redisTemplate, CoalescingProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.batchSize = DistributionSummary.builder("coupon.issue.batch.size")
+                .description("Redis 왕복 한 번에 처리된 발급 요청 수")
+                .register(meterRegistry);
+        this.scheduler = Executors.newScheduledThreadPool(properties.getThreads());
+    }
+
+    public CompletableFuture<Long> submit(CouponMetadata coupon, String userKey, String countKey) {
+        PendingIssue issue = new PendingIssue(userKey);
+        PendingBatch[] full = new PendingBatch[1];
+
+        batches.compute(coupon.getCode(), (code, batch) -> {
+            if (batch == null) {  //새 묶음이면 maxWait 이후 전송 예약
+                PendingBatch created = new PendingBatch(coupon, countKey);
+                scheduler.schedule(() -> flushIfPending(code, created),
+                        properties.getMaxWait().toNanos(), TimeUnit.NANOSECONDS);
+                batch = created;
+            }
+            batch.issues.add(issue);
+            if (batch.issues.size() >= properties.getMaxBatchSize()) {  //가득 찬 묶음은 즉시 전송
+                full[0] = batch;
+                return null;
+            }
+            return batch;
+        });
+
+        if (full[0] != null) {
+            PendingBatch batch = full[0];
+            scheduler.execute(() -> flush(batch));
+        }
+        return issue.result;
+    }
+
+    private void flushIfPending(String code, PendingBatch batch) {
+        if (batches.remove(code, batch)) {  //이미 가득 차서 전송된 묶음은 건너뜀
+            flush(batch);
+        }
+    }
+
+    private void flush(PendingBatch batch) {
+        List<String> keys = new ArrayList<>(batch.issues.size() + 1);
+        keys.add(batch.countKey);
+        batch.issues.forEach(issue -> keys.add(issue.userKey));
+
+        try {
+            List<?> results = redisTemplate.execute(CouponIssueScripts.BATCH_ISSUE, keys,
+                    String.valueOf(batch.coupon.getTotalQuantity()), String.valueOf(batch.coupon.getDuration()));
+            for (int i = 0; i < batch.issues.size(); i++) {
+                batch.issues.get(i).result.complete(((Number) results.get(i)).longValue());
+            }
+            batchSize.record(batch.issues.size());
+        } catch (Exception e) {
+            logger.error("묶음 발급 스크립트 실행 실패 - 코드: {}, 요청 수: {}", batch.coupon.getCode(), batch.issues.size(), e);
+            batch.issues.forEach(issue -> issue.result.completeExceptionally(e));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batches.keySet().forEach(code -> {
+            PendingBatch batch = batches.remove(code);
+            if (batch != null) {  //종료 전에 남은 요청 전송
+                flush(batch);
+            }
+        });
+        scheduler.shutdown();
+    }
+
+    private static class PendingBatch {
+
+        private final CouponMetadata coupon;
+        private final String countKey;
+        private final List<PendingIssue> issues = new ArrayList<>();
+
+        private PendingBatch(CouponMetadata coupon, String countKey) {
+            this.coupon = coupon;
+            this.countKey = countKey;
+        }
+    }
+
+    private static class PendingIssue {
+
+        private final String userKey;
+        private final CompletableFuture<Long> result = new CompletableFuture<>();
+
+        private PendingIssue(String userKey) {
+            this.userKey = userKey;
+        }
+    }
+}
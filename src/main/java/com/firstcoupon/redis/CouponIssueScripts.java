@@ -0,0 +1,265 @@
+package com.firstcoupon.redis;
+
+import java.util.List;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/*
+    쿠폰 발급 Lua 스크립트
+    스크립트 객체는 SHA1을 한 번만 계산하도록 재사용하며, RedisTemplate이 EVALSHA로 실행한다.
+ */
+public final class CouponIssueScripts {
+
+    /*
+        단건 발급
+        return value
+        -1: 이미 쿠폰을 발급받은 사용자
+         0: 쿠폰 재고 소진
+         1: 쿠폰 발급 성공
+
+        KEYS[1]: userKey (쿠폰 코드 + 사용자 식별자)
+        KEYS[2]: countKey (쿠폰별 발급 수량 카운트)
+        ARGV[1]: totalQuantity (총 발급 수량)
+        ARGV[2]: duration (중복 발급 방지 TTL)
+     */
+    public static final RedisScript<Long> ISSUE = RedisScript.of("""
+            -- 중복 쿠폰 발급 검증
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                return -1
+            end
+            
+            -- 쿠폰 발급 수량 체크
+            local next = redis.call('INCR', KEYS[2])
+            if tonumber(next) > tonumber(ARGV[1]) then
+                redis.call('DECR', KEYS[2]);    -- 롤백
+                return 0
+            end
+            
+            -- 사용자 발급 여부 저장
+            redis.call('SET', KEYS[1], 'issued', 'EX', ARGV[2])
+            return 1
+            """, Long.class);
+
+    /*
+        묶음 발급
+        같은 쿠폰에 대한 여러 요청을 한 번의 왕복으로 처리하고, 요청 순서대로 -1/0/1 결과를 반환한다.
+        재고가 부족한 요청은 카운트를 증가시키지 않으므로 INCR/DECR 롤백이 발생하지 않는다.
+
+        KEYS[1]: countKey (쿠폰별 발급 수량 카운트)
+        KEYS[2..n]: userKey (쿠폰 코드 + 사용자 식별자)
+        ARGV[1]: totalQuantity (총 발급 수량)
+        ARGV[2]: duration (중복 발급 방지 TTL)
+     */
+    @SuppressWarnings("rawtypes")
+    public static final RedisScript<List> BATCH_ISSUE = new DefaultRedisScript<>("""
+            local total = tonumber(ARGV[1])
+            local count = tonumber(redis.call('GET', KEYS[1]) or '0')
+            local issued = 0
+            local results = {}
+            
+            for i = 2, #KEYS do
+                if redis.call('EXISTS', KEYS[i]) == 1 then
+                    results[i - 1] = -1    -- 이미 발급받은 사용자 (같은 묶음 내 중복 포함)
+                elseif count + issued >= total then
+                    results[i - 1] = 0     -- 재고 소진
+                else
+                    redis.call('SET', KEYS[i], 'issued', 'EX', ARGV[2])
+                    issued = issued + 1
+                    results[i - 1] = 1
+                end
+            end
+            
+            if issued > 0 then
+                redis.call('INCRBY', KEYS[1], issued)
+            end
+            return results
+            """, List.class);
+
+    /*
+        샤드 재고 획득
+        샤드별 용량을 넘지 않을 때만 증가시키므로 모든 샤드의 합은 총 발급 수량을 넘을 수 없다.
+        샤드마다 키 하나만 다루므로 샤드 키를 서로 다른 슬롯(노드)에 둘 수 있다.
+        return value
+         0: 샤드 재고 소진
+         1: 재고 획득 성공
+
+        KEYS[1]: shardKey (쿠폰별 샤드 카운트)
+        ARGV[1]: capacity (샤드 용량)
+     */
+    public static final RedisScript<Long> SHARD_ACQUIRE = RedisScript.of("""
+            local count = tonumber(redis.call('GET', KEYS[1]) or '0')
+            if count >= tonumber(ARGV[1]) then
+                return 0
+            end
+            
+            redis.call('INCR', KEYS[1])
+            return 1
+            """, Long.class);
+
+    /*
+        토큰 풀 발급
+        쿠폰 생성 시 미리 만들어 둔 발급 토큰을 LPOP으로 꺼낸다. 재고 카운트 증감이 없다.
+        마지막 토큰을 꺼내면 리스트 키가 사라지므로, 적재 완료 표시(readyKey)가 있을 때만 소진으로 판단한다.
+        return value
+        "-2": 토큰 풀이 아직 적재되지 않음(소진 아님)
+        "-1": 이미 쿠폰을 발급받은 사용자
+         "0": 쿠폰 재고 소진
+        그 외: 발급된 토큰(일련번호)
+
+        KEYS[1]: userKey (쿠폰 코드 + 사용자 식별자)
+        KEYS[2]: tokenKey (쿠폰별 발급 토큰 리스트)
+        KEYS[3]: readyKey (토큰 풀 적재 완료 표시)
+        ARGV[1]: duration (중복 발급 방지 TTL)
+     */
+    public static final RedisScript<String> TOKEN_ISSUE = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                return '-1'
+            end
+            
+            local token = redis.call('LPOP', KEYS[2])
+            if not token then
+                if redis.call('EXISTS', KEYS[3]) == 0 then
+                    return '-2'
+                end
+                return '0'
+            end
+            
+            redis.call('SET', KEYS[1], token, 'EX', ARGV[1])
+            return token
+            """, String.class);
+
+    /*
+        토큰 풀 적재 완료
+        임시 키에 모두 적재한 토큰 리스트를 RENAME으로 한 번에 교체하고 적재 완료 표시를 남긴다.
+        적재 중인 요청은 이전 풀(또는 미적재 응답)을 보게 되어, 빈 리스트를 소진으로 오인하지 않는다.
+        모든 일련번호가 이미 발급되어 임시 키가 없으면 기존 풀을 지우고 적재 완료(소진)로 표시한다.
+
+        KEYS[1]: 적재용 임시 키
+        KEYS[2]: tokenKey
+        KEYS[3]: readyKey
+        ARGV[1]: TTL(ms), 0이면 만료 없음
+     */
+    public static final RedisScript<Long> TOKEN_FILL_COMMIT = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                redis.call('RENAME', KEYS[1], KEYS[2])
+            else
+                redis.call('DEL', KEYS[2])
+            end
+            redis.call('SET', KEYS[3], '1')
+            local ttl = tonumber(ARGV[1])
+            if ttl > 0 then
+                redis.call('PEXPIRE', KEYS[2], ttl)
+                redis.call('PEXPIRE', KEYS[3], ttl)
+            else
+                redis.call('PERSIST', KEYS[2])
+            end
+            return 1
+            """, Long.class);
+
+    /*
+        토큰 반환
+        적재 완료 표시가 없으면(발급 종료로 만료) 반환하지 않는다.
+        마지막 토큰이 빠져 리스트가 사라진 경우에도 적재 완료 표시의 남은 TTL을 다시 적용한다.
+
+        KEYS[1]: tokenKey
+        KEYS[2]: readyKey
+        ARGV[1]: 반환할 토큰
+     */
+    public static final RedisScript<Long> TOKEN_RELEASE = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[2]) == 0 then
+                return 0
+            end
+            redis.call('LPUSH', KEYS[1], ARGV[1])
+            local ttl = redis.call('PTTL', KEYS[2])
+            if ttl > 0 then
+                redis.call('PEXPIRE', KEYS[1], ttl)
+            end
+            return 1
+            """, Long.class);
+
+    /*
+        재고 임대
+        남은 재고 안에서 요청한 크기만큼 카운트를 한 번에 증가시키고, 실제로 임대한 수량을 반환한다.
+        임대한 노드는 holdersKey(노드 -> 만료 시각)에 기록되며, 더 임대할 재고가 없을 때
+        다른 노드가 아직 임대분을 보유하고 있으면 전체 소진이 아니므로 -3을 반환한다.
+        return value
+        -3: 전역 카운트는 소진됐지만 다른 노드가 임대 재고를 보유
+         0: 쿠폰 재고 소진(임대 보유 노드 없음)
+         n: 임대한 수량
+
+        KEYS[1]: countKey (쿠폰별 발급 수량 카운트)
+        KEYS[2]: holdersKey (임대 보유 노드)
+        ARGV[1]: totalQuantity (총 발급 수량)
+        ARGV[2]: leaseSize (임대 요청 수량)
+        ARGV[3]: nodeId
+        ARGV[4]: 현재 시각(ms)
+        ARGV[5]: 임대 보유 기록 만료 시각(ms)
+     */
+    public static final RedisScript<Long> LEASE = RedisScript.of("""
+            local count = tonumber(redis.call('GET', KEYS[1]) or '0')
+            local grant = math.min(tonumber(ARGV[2]), tonumber(ARGV[1]) - count)
+            if grant > 0 then
+                redis.call('INCRBY', KEYS[1], grant)
+                redis.call('ZADD', KEYS[2], ARGV[5], ARGV[3])
+                return grant
+            end
+            
+            redis.call('ZREM', KEYS[2], ARGV[3])
+            redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', ARGV[4])  -- 종료된 노드의 기록 정리
+            if redis.call('ZCARD', KEYS[2]) > 0 then
+                return -3
+            end
+            return 0
+            """, Long.class);
+
+    /*
+        대기열 진입
+        입장 처리 중이거나 발급이 끝난 사용자는 다시 줄 세우지 않고 기존 결과를 반환한다.
+        그 외 실패 결과(소진, 오류 등)는 지우고 다시 대기열에 넣는다.
+        return value
+        "": 대기 중(신규 진입 또는 기존 순번 유지)
+        그 외: 기존 결과(PROCESSING, ISSUED, COUPON_ALREADY_ISSUED)
+
+        KEYS[1]: queueKey, KEYS[2]: resultKey, KEYS[3]: 활성 대기열 목록
+        ARGV[1]: email, ARGV[2]: 진입 시각(ms), ARGV[3]: 쿠폰 코드, ARGV[4..n]: 유지할 결과 값
+     */
+    public static final RedisScript<String> QUEUE_ENTER = RedisScript.of("""
+            local result = redis.call('HGET', KEYS[2], ARGV[1])
+            if result then
+                for i = 4, #ARGV do
+                    if result == ARGV[i] then
+                        return result
+                    end
+                end
+                redis.call('HDEL', KEYS[2], ARGV[1])
+            end
+            
+            redis.call('ZADD', KEYS[1], 'NX', ARGV[2], ARGV[1])
+            redis.call('SADD', KEYS[3], ARGV[3])
+            return ''
+            """, String.class);
+
+    /*
+        대기열 입장
+        앞에서부터 N명을 꺼내면서 결과 Hash에 처리 중 표시를 함께 기록한다.
+        꺼낸 뒤 결과가 저장되기 전까지도 사용자는 대기열 또는 결과 중 한 곳에서 항상 조회된다.
+        return value: [email, score, email, score, ...]
+
+        KEYS[1]: queueKey, KEYS[2]: resultKey
+        ARGV[1]: 꺼낼 인원, ARGV[2]: 결과 Hash에 기록할 값(처리 중 표시 또는 소진 결과), ARGV[3]: 결과 보관 시간(ms)
+     */
+    @SuppressWarnings("rawtypes")
+    public static final RedisScript<List> QUEUE_ADMIT = new DefaultRedisScript<>("""
+            local popped = redis.call('ZPOPMIN', KEYS[1], ARGV[1])
+            for i = 1, #popped, 2 do
+                redis.call('HSET', KEYS[2], popped[i], ARGV[2])
+            end
+            if #popped > 0 then
+                redis.call('PEXPIRE', KEYS[2], ARGV[3])
+            end
+            return popped
+            """, List.class);
+
+    private CouponIssueScripts() {
+    }
+}
@@ -0,0 +1,63 @@
+package com.firstcoupon.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/*
+    노드별 쿠폰 소진 플래그
+    최초로 재고 소진을 확인한 노드가 Redis pub/sub으로 전파하고,
+    이후 요청은 Redis/DB 조회 없이 메모리에서 바로 거절한다.
+ */
+@Component
+public class CouponSoldOutRegistry implements MessageListener {
+
+    private static final Logger couponLogger = LoggerFactory.getLogger("CouponLogger");
+
+    public static final String SOLD_OUT_CHANNEL = "coupon_sold_out";
+    public static final String RESTOCK_CHANNEL = "coupon_restock";
+
+    private final Set<String> soldOutCodes = ConcurrentHashMap.newKeySet();
+    private final StringRedisTemplate redisTemplate;
+
+    public CouponSoldOutRegistry(StringRedisTemplate redisTemplate, RedisMessageListenerContainer container) {
+        this.redisTemplate = redisTemplate;
+        container.addMessageListener(this, List.of(new ChannelTopic(SOLD_OUT_CHANNEL), new ChannelTopic(RESTOCK_CHANNEL)));
+    }
+
+    public boolean isSoldOut(String code) {
+        return soldOutCodes.contains(code);
+    }
+
+    public void markSoldOut(String code) {
+        if (soldOutCodes.add(code)) {  //처음 소진을 확인한 경우에만 전파
+            redisTemplate.convertAndSend(SOLD_OUT_CHANNEL, code);
+            couponLogger.info("쿠폰 소진 전파 - 코드: {}", code);
+        }
+    }
+
+    public void clear(String code) {  //발급 롤백으로 재고가 반환된 경우
+        soldOutCodes.remove(code);
+        redisTemplate.convertAndSend(RESTOCK_CHANNEL, code);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        String code = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (RESTOCK_CHANNEL.equals(channel)) {
+            soldOutCodes.remove(code);
+        } else {
+            soldOutCodes.add(code);
+        }
+    }
+}
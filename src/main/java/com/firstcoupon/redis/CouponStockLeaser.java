@@ -0,0 +1,191 @@
+package com.firstcoupon.redis;
+
+import com.firstcoupon.cache.CouponMetadata;
+import com.firstcoupon.config.redis.LeasingProperties;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/*
+    노드별 재고 임대
+    coupon_count:<code>에서 재고를 묶음으로 임대(INCRBY)해 두고, 요청마다 로컬 원자 카운터에서 차감한다.
+    중복 발급 검증만 요청마다 Redis로 가며, 임대 크기는 노드의 요청 속도에 맞춰 조절된다.
+    요청이 끊기거나 발급 기간이 끝나거나 노드가 종료되면 남은 재고를 반납한다.
+    임대를 보유한 노드는 coupon_lease_holders:<code>에 기록되며, 소진은 보유 노드가 하나도 없을 때만 전파한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CouponStockLeaser {
+
+    private static final Logger couponLogger = LoggerFactory.getLogger("CouponLogger");
+
+    public static final String LEASED = "leased";
+    public static final long LOCAL_EXHAUSTED = -3;
+
+    private static final String HOLDERS_KEY_PREFIX = "coupon_lease_holders:";
+    private static final String NODE_ID = UUID.randomUUID().toString();
+
+    private final StringRedisTemplate redisTemplate;
+    private final CouponSoldOutRegistry couponSoldOutRegistry;
+    private final LeasingProperties properties;
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+
+    /*
+        return value
+        -3: 이 노드의 임대분만 소진(다른 노드가 임대 재고 보유, 소진 전파 금지)
+        -1: 이미 쿠폰을 발급받은 사용자
+         0: 쿠폰 재고 소진
+         1: 쿠폰 발급 성공
+     */
+    public long issue(CouponMetadata coupon, String userKey, String countKey) {
+        Lease lease = leases.computeIfAbsent(coupon.getCode(), code -> new Lease(coupon, countKey));
+        long acquired = acquire(lease);
+        if (acquired != 1) {
+            return acquired;
+        }
+
+        Boolean reserved = redisTemplate.opsForValue()
+                .setIfAbsent(userKey, LEASED, Duration.ofSeconds(coupon.getDuration()));  //중복 발급 검증
+        if (!Boolean.TRUE.equals(reserved)) {
+            lease.remaining.incrementAndGet();  //차감한 재고를 로컬 임대분으로 되돌림
+            return -1;
+        }
+        return 1;
+    }
+
+    public void giveBack(String code, String countKey) {  //발급 롤백 시 재고를 로컬 임대분으로 반환
+        Lease lease = leases.get(code);
+        if (lease != null) {
+            lease.remaining.incrementAndGet();
+        } else {  //이미 임대가 정리된 경우 Redis 카운트를 직접 감소
+            redisTemplate.opsForValue().decrement(countKey);
+        }
+    }
+
+    //1: 차감 성공, 0: 전체 소진, -3: 이 노드의 임대분만 소진
+    private long acquire(Lease lease) {
+        lease.requests.incrementAndGet();
+        lease.lastRequestAt = System.nanoTime();
+
+        while (true) {
+            long remaining = lease.remaining.get();
+            if (remaining > 0) {  //로컬 임대분에서 차감
+                if (lease.remaining.compareAndSet(remaining, remaining - 1)) {
+                    return 1;
+                }
+                continue;
+            }
+
+            lease.lock.lock();  //임대 요청은 한 스레드만 수행
+            try {
+                if (lease.remaining.get() > 0) {
+                    continue;
+                }
+                long now = System.currentTimeMillis();
+                Long granted = redisTemplate.execute(CouponIssueScripts.LEASE,
+                        List.of(lease.countKey, holdersKey(lease.coupon.getCode())),
+                        String.valueOf(lease.coupon.getTotalQuantity()), String.valueOf(nextLeaseSize(lease)),
+                        NODE_ID, String.valueOf(now), String.valueOf(now + holderTtl().toMillis()));
+                if (granted == null || granted <= 0) {
+                    return granted == null ? 0 : granted;
+                }
+                lease.remaining.addAndGet(granted);
+                lease.lastGranted = granted;
+            } finally {
+                lease.lock.unlock();
+            }
+        }
+    }
+
+    /*
+        최근 요청 속도 x 임대 구간만큼 임대하여, 한가한 노드에 재고가 묶이지 않도록 함
+        속도는 최소 임대 구간 이상에 걸쳐 측정하고, 임대 크기는 직전 임대의 2배까지만 늘린다.
+        (첫 임대는 측정 구간이 짧아 속도가 과대 계산되므로 최소 크기부터 시작)
+     */
+    private long nextLeaseSize(Lease lease) {
+        long now = System.nanoTime();
+        long window = properties.getLeaseWindow().toNanos();
+        double elapsedSeconds = Math.max(now - lease.lastLeasedAt, window) / 1_000_000_000.0;
+        double rate = lease.requests.getAndSet(0) / elapsedSeconds;
+        lease.rate = lease.rate == 0 ? rate : lease.rate * 0.7 + rate * 0.3;  //EWMA
+        lease.lastLeasedAt = now;
+
+        long size = (long) Math.ceil(lease.rate * window / 1_000_000_000.0);
+        long ceiling = lease.lastGranted == 0 ? properties.getMinLeaseSize() : lease.lastGranted * 2;
+        return Math.max(properties.getMinLeaseSize(), Math.min(properties.getMaxLeaseSize(), Math.min(ceiling, size)));
+    }
+
+    //임대 보유 기록은 유휴 반납 주기마다 갱신되며, 노드가 비정상 종료되면 이 시간이 지나 정리됨
+    private Duration holderTtl() {
+        return properties.getIdleTimeout().multipliedBy(5);
+    }
+
+    private static String holdersKey(String code) {
+        return HOLDERS_KEY_PREFIX + code;
+    }
+
+    @Scheduled(fixedDelayString = "${coupon.issue.leasing.idle-check-ms:1000}")
+    public void returnIdleLeases() {
+        long now = System.nanoTime();
+        LocalDateTime current = LocalDateTime.now();
+        leases.forEach((code, lease) -> {
+            boolean closed = current.isAfter(lease.coupon.getIssueEndTime());
+            boolean idle = now - lease.lastRequestAt > properties.getIdleTimeout().toNanos();
+            if (closed || idle) {
+                returnLease(code, lease);
+            } else if (lease.remaining.get() > 0) {  //보유 중인 임대 기록 갱신
+                redisTemplate.opsForZSet().add(holdersKey(code), NODE_ID,
+                        System.currentTimeMillis() + holderTtl().toMillis());
+            }
+            if (closed) {
+                leases.remove(code, lease);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void returnAll() {
+        leases.forEach(this::returnLease);
+    }
+
+    private void returnLease(String code, Lease lease) {
+        long unused = lease.remaining.getAndSet(0);
+        redisTemplate.opsForZSet().remove(holdersKey(code), NODE_ID);
+        if (unused <= 0) {
+            return;
+        }
+        redisTemplate.opsForValue().decrement(lease.countKey, unused);
+        couponSoldOutRegistry.clear(code);  //반납된 재고를 다른 노드가 임대할 수 있도록 소진 플래그 해제
+        couponLogger.info("임대 재고 반납 - 코드: {}, 수량: {}", code, unused);
+    }
+
+    private static class Lease {
+
+        private final CouponMetadata coupon;
+        private final String countKey;
+        private final AtomicLong remaining = new AtomicLong();
+        private final AtomicLong requests = new AtomicLong();
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile long lastRequestAt = System.nanoTime();
+        private volatile long lastLeasedAt = System.nanoTime();
+        private volatile double rate;
+        private volatile long lastGranted;
+
+        private Lease(CouponMetadata coupon, String countKey) {
+            this.coupon = coupon;
+            this.countKey = countKey;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.firstcoupon.redis;
+
+import com.firstcoupon.cache.CouponMetadata;
+import com.firstcoupon.domain.StockStrategy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/*
+    발급 예약 롤백
+    사용자 키 값에 예약 정보(샤드 번호, 토큰, 임대 여부)가 저장되어 있으며, GETDEL로 한 번만 반환한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CouponStockReleaser {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ShardedStockCounter shardedStockCounter;
+    private final CouponTokenPool couponTokenPool;
+    private final CouponStockLeaser couponStockLeaser;
+    private final CouponSoldOutRegistry couponSoldOutRegistry;
+
+    public void release(CouponMetadata coupon, String userKey, String countKey) {
+        String value = redisTemplate.opsForValue().getAndDelete(userKey);
+        if (value == null) {
+            return;
+        }
+
+        if (coupon.getStockStrategy() == StockStrategy.TOKEN_POOL) {
+            couponTokenPool.release(coupon.getCode(), value);
+        } else if (coupon.getStockStrategy() == StockStrategy.SHARDED_COUNTER) {
+            shardedStockCounter.release(countKey, Integer.parseInt(value));
+        } else if (CouponStockLeaser.LEASED.equals(value)) {  //임대분에서 차감한 재고는 로컬 임대분으로 반환
+            couponStockLeaser.giveBack(coupon.getCode(), countKey);
+            return;
+        } else {
+            redisTemplate.opsForValue().decrement(countKey);
+        }
+        couponSoldOutRegistry.clear(coupon.getCode());  //반환된 재고를 다시 발급할 수 있도록 소진 플래그 해제
+    }
+}
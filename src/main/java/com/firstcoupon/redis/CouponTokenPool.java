@@ -0,0 +1,109 @@
+package com.firstcoupon.redis;
+
+import com.firstcoupon.cache.CouponMetadata;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/*
+    미리 생성된 발급 토큰 풀
+    쿠폰 생성 시 totalQuantity만큼의 일련번호를 Redis 리스트(coupon_tokens:<code>)에 적재하고,
+    발급은 중복 검증과 LPOP 한 번으로 끝난다.
+    적재는 임시 키에 한 뒤 RENAME으로 교체하므로, 적재 도중이나 적재 실패 시 빈 풀이 소진으로 판단되지 않는다.
+    이미 발급된 일련번호는 적재하지 않아, 재적재해도 같은 일련번호가 두 번 발급되지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CouponTokenPool {
+
+    private static final Logger couponLogger = LoggerFactory.getLogger("CouponLogger");
+
+    private static final String TOKEN_KEY_PREFIX = "coupon_tokens:";
+    private static final String READY_KEY_SUFFIX = ":ready";
+    private static final String FILLING_KEY_SUFFIX = ":filling:";
+    private static final Duration FILLING_TTL = Duration.ofMinutes(10);  //적재 중 실패한 임시 키 정리
+    private static final int FILL_CHUNK_SIZE = 1_000;
+
+    private final StringRedisTemplate redisTemplate;
+
+    public void fill(String code, int totalQuantity, LocalDateTime issueEndTime, Set<String> issuedSerials) {
+        String fillingKey = tokenKey(code) + FILLING_KEY_SUFFIX + UUID.randomUUID();
+        int filled = 0;
+        try {
+            List<String> chunk = new ArrayList<>(FILL_CHUNK_SIZE);
+            for (int seq = 1; seq <= totalQuantity; seq++) {
+                String serial = serial(code, seq);
+                if (!issuedSerials.contains(serial)) {
+                    chunk.add(serial);
+                }
+                if (!chunk.isEmpty() && (chunk.size() == FILL_CHUNK_SIZE || seq == totalQuantity)) {  //1,000개 단위로 적재
+                    redisTemplate.opsForList().rightPushAll(fillingKey, chunk);
+                    redisTemplate.expire(fillingKey, FILLING_TTL);
+                    filled += chunk.size();
+                    chunk.clear();
+                }
+            }
+
+            Duration ttl = Duration.between(LocalDateTime.now(), issueEndTime);  //발급 종료 후 남은 토큰 정리
+            redisTemplate.execute(CouponIssueScripts.TOKEN_FILL_COMMIT,
+                    List.of(fillingKey, tokenKey(code), readyKey(code)),
+                    String.valueOf(ttl.isNegative() ? 0 : ttl.toMillis()));
+        } catch (RuntimeException e) {
+            redisTemplate.delete(fillingKey);
+            throw e;
+        }
+        couponLogger.info("발급 토큰 적재 완료 - 코드: {}, 수량: {}, 발급된 일련번호 제외: {}",
+                code, filled, totalQuantity - filled);
+    }
+
+    /*
+        return value
+        "-2": 토큰 풀이 적재되지 않음
+        "-1": 이미 쿠폰을 발급받은 사용자
+         "0": 쿠폰 재고 소진
+        그 외: 발급된 일련번호
+     */
+    public String issue(CouponMetadata coupon, String userKey) {
+        return redisTemplate.execute(CouponIssueScripts.TOKEN_ISSUE, issueKeys(coupon.getCode(), userKey),
+                String.valueOf(coupon.getDuration()));
+    }
+
+    public void release(String code, String token) {  //반환된 토큰은 다음 발급에서 먼저 사용(발급 종료 후에는 버림)
+        redisTemplate.execute(CouponIssueScripts.TOKEN_RELEASE, List.of(tokenKey(code), readyKey(code)), token);
+    }
+
+    public boolean isReady(String code) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(readyKey(code)));
+    }
+
+    public static List<String> issueKeys(String code, String userKey) {
+        return List.of(userKey, tokenKey(code), readyKey(code));
+    }
+
+    public static String tokenKey(String code) {
+        return TOKEN_KEY_PREFIX + code;
+    }
+
+    private static String readyKey(String code) {
+        return TOKEN_KEY_PREFIX + code + READY_KEY_SUFFIX;
+    }
+
+    public static long toResult(String token) {
+        if ("-1".equals(token) || "-2".equals(token)) {
+            return Long.parseLong(token);
+        }
+        return "0".equals(token) || token == null ? 0 : 1;
+    }
+
+    private static String serial(String code, int seq) {
+        return String.format("%s-%06d", code, seq);
+    }
+}
@@ -0,0 +1,71 @@
+package com.firstcoupon.redis;
+
+import com.firstcoupon.cache.CouponMetadata;
+import java.time.Duration;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/*
+    샤딩된 재고 카운터
+    총 발급 수량을 K개의 카운터({coupon_count:<code>:<i>})로 나누고, 이메일 해시로 고른 샤드부터
+    재고를 획득한다. 해당 샤드가 비었으면 다음 샤드로 넘어가며, 모든 샤드가 비면 재고 소진이다.
+    샤드 키는 각자 해시 태그를 가져 클러스터에서 서로 다른 슬롯(노드)에 놓이고, 한 번의 호출은 샤드 하나만 다룬다.
+    중복 발급 검증 키는 샤드와 다른 슬롯이므로 짧은 TTL의 예약 표시를 먼저 남기고, 샤드를 획득하면
+    쿠폰 사용 기간 TTL로 획득한 샤드 번호를 기록한다. 중간에 노드가 죽어도 예약 표시는 PENDING_TTL 뒤에 사라진다.
+    소진된 쿠폰은 호출 측(CouponSoldOutRegistry)에서 거절하므로 샤드 순회는 소진 직후 한 번만 발생한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ShardedStockCounter {
+
+    private static final String PENDING = "pending";
+    private static final Duration PENDING_TTL = Duration.ofSeconds(5);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /*
+        return value
+        -1: 이미 쿠폰을 발급받은 사용자
+         0: 쿠폰 재고 소진
+         1: 쿠폰 발급 성공
+     */
+    public long issue(CouponMetadata coupon, String email, String userKey, String countKey) {
+        Boolean reserved = redisTemplate.opsForValue().setIfAbsent(userKey, PENDING, PENDING_TTL);  //중복 발급 검증
+        if (!Boolean.TRUE.equals(reserved)) {
+            return -1;
+        }
+
+        int shards = coupon.getStockShards();
+        int start = Math.floorMod(email.hashCode(), shards);
+        for (int i = 0; i < shards; i++) {
+            int shard = (start + i) % shards;
+            Long acquired = redisTemplate.execute(CouponIssueScripts.SHARD_ACQUIRE,
+                    List.of(shardKey(countKey, shard)),
+                    String.valueOf(capacity(coupon.getTotalQuantity(), shards, shard)));
+
+            if (acquired != null && acquired == 1) {  //획득한 샤드 기록(발급 롤백 시 사용)
+                redisTemplate.opsForValue().set(userKey, String.valueOf(shard), Duration.ofSeconds(coupon.getDuration()));
+                return 1;
+            }
+        }
+
+        redisTemplate.delete(userKey);  //모든 샤드가 소진되면 예약 해제
+        return 0;
+    }
+
+    public void release(String countKey, int shard) {
+        redisTemplate.opsForValue().decrement(shardKey(countKey, shard));
+    }
+
+    //키 전체를 해시 태그로 감싸 샤드마다 다른 슬롯에 배치
+    public static String shardKey(String countKey, int shard) {
+        return "{" + countKey + ":" + shard + "}";
+    }
+
+    //총 수량을 샤드 수로 나누고 나머지는 앞쪽 샤드에 하나씩 배분
+    public static int capacity(int totalQuantity, int shards, int shard) {
+        return totalQuantity / shards + (shard < totalQuantity % shards ? 1 : 0);
+    }
+}
@@ -0,0 +1,111 @@
+package com.firstcoupon.redis;
+
+import com.firstcoupon.utils.Snowflake;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/*
+    Snowflake 노드 번호 임대
+    노드 번호가 설정되지 않은 인스턴스는 snowflake_node_seq를 INCR한 위치부터 snowflake_node:<번호>를
+    SET NX PX로 선점해 번호를 얻는다. 임대는 주기적으로 연장하며, 요청을 보내기 전 시각 + TTL - 여유 시간을
+    Snowflake의 유효 기한으로 기록한다. 연장이 확인되지 않은 채 기한이 지나면 Snowflake가 ID 생성을 거부하므로,
+    Redis에서 키가 만료되어 다른 노드가 같은 번호를 가져가기 전에 이 노드는 이미 그 번호 사용을 멈춘 상태가 된다.
+    연장 시 키가 없으면 같은 번호를 다시 선점하고, 다른 노드가 가져갔으면 새 번호로 교체한다.
+    번호를 얻지 못하면 기동을 중단한다. 종료 시에는 반납하지 않고, 종료 중 저장이 끝날 때까지 TTL로 번호를 유지한다.
+ */
+@Component
+public class SnowflakeNodeLease {
+
+    private static final Logger couponLogger = LoggerFactory.getLogger("CouponLogger");
+
+    private static final String NODE_KEY_PREFIX = "snowflake_node:";
+    private static final String SEQUENCE_KEY = "snowflake_node_seq";
+    private static final Duration TTL = Duration.ofSeconds(30);
+    private static final Duration SAFETY_MARGIN = Duration.ofSeconds(3);  //Redis와 로컬 시계 차이, 요청 지연 여유
+
+    //소유자가 같을 때만 연장
+    private static final RedisScript<Long> RENEW = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String owner = UUID.randomUUID().toString();
+    private volatile Long nodeId;
+
+    public SnowflakeNodeLease(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @PostConstruct
+    public void acquire() {
+        if (Snowflake.isConfigured()) {  //COUPON_NODE_ID로 지정한 경우 임대하지 않음
+            return;
+        }
+        lease();
+    }
+
+    @Scheduled(fixedDelayString = "${coupon.snowflake.renew-interval-ms:10000}")
+    public void renew() {
+        Long current = nodeId;
+        if (current == null) {
+            return;
+        }
+        try {
+            long requestedAt = System.nanoTime();
+            Long renewed = redisTemplate.execute(RENEW, List.of(NODE_KEY_PREFIX + current),
+                    owner, String.valueOf(TTL.toMillis()));
+            if (renewed != null && renewed == 1) {
+                Snowflake.extendLease(deadline(requestedAt));
+                return;
+            }
+            couponLogger.warn("Snowflake 노드 번호 임대 만료 - 번호: {}", current);
+            requestedAt = System.nanoTime();
+            if (tryLease(current)) {
+                Snowflake.extendLease(deadline(requestedAt));
+            } else {  //다른 노드가 가져갔으면 새 번호로 교체
+                lease();
+            }
+        } catch (Exception e) {
+            couponLogger.error("Snowflake 노드 번호 임대 연장 실패 - 번호: {}", current, e);
+        }
+    }
+
+    private void lease() {
+        Long start = redisTemplate.opsForValue().increment(SEQUENCE_KEY);
+        for (int i = 0; i < Snowflake.NODE_COUNT; i++) {
+            long candidate = Math.floorMod((start == null ? 0 : start) + i, Snowflake.NODE_COUNT);
+            long requestedAt = System.nanoTime();
+            if (tryLease(candidate)) {
+                assign(candidate, deadline(requestedAt));
+                return;
+            }
+        }
+        throw new IllegalStateException("임대 가능한 Snowflake 노드 번호가 없습니다");
+    }
+
+    private boolean tryLease(long candidate) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(NODE_KEY_PREFIX + candidate, owner, TTL));
+    }
+
+    //요청 전 시각 기준이므로 Redis의 키 만료보다 항상 먼저 도래
+    private long deadline(long requestedAt) {
+        return requestedAt + TTL.toNanos() - SAFETY_MARGIN.toNanos();
+    }
+
+    private void assign(long leased, long deadlineNanos) {
+        nodeId = leased;
+        Snowflake.assignNode(leased, deadlineNanos);
+        couponLogger.info("Snowflake 노드 번호 임대 - 번호: {}", leased);
+    }
+}
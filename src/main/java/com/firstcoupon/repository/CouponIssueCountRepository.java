@@ -0,0 +1,31 @@
+package com.firstcoupon.repository;
+
+import com.firstcoupon.domain.CouponIssueCount;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface CouponIssueCountRepository extends JpaRepository<CouponIssueCount, Long> {
+
+    @Query("SELECT c.issuedCount FROM CouponIssueCount c WHERE c.couponId = :couponId")
+    Optional<Long> findIssuedCount(@Param("couponId") Long couponId);
+
+    default long getIssuedCount(Long couponId) {
+        return findIssuedCount(couponId).orElse(0L);
+    }
+
+    //발급 저장과 같은 트랜잭션에서 호출, 행이 없으면 생성
+    @Modifying
+    @Query(value = "INSERT INTO coupon_issue_count (coupon_id, issued_count) VALUES (:couponId, :count) "
+            + "ON DUPLICATE KEY UPDATE issued_count = issued_count + :count", nativeQuery = true)
+    int increment(@Param("couponId") Long couponId, @Param("count") long count);
+
+    //기존 발급 데이터로 카운트 테이블 초기화(테이블이 비어 있을 때 한 번)
+    //여러 노드가 동시에 실행해도 먼저 들어간 행을 유지하도록 INSERT IGNORE 사용
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO coupon_issue_count (coupon_id, issued_count) "
+            + "SELECT coupon_id, COUNT(*) FROM issued_coupon GROUP BY coupon_id", nativeQuery = true)
+    int backfill();
+}
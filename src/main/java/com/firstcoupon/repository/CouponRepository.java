@@ -20,10 +20,17 @@ public interface CouponRepository extends JpaRepository<Coupon, Long> {
     @Query("SELECT c FROM Coupon c WHERE c.code = :code")
     Optional<Coupon> findByCodeForUpdate(@Param("code") String code);
 
+    //조건부 차감: 반영된 행 수가 1이면 재고 확보, 0이면 품절
     @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Query("UPDATE Coupon c SET c.remainingQuantity = c.remainingQuantity - 1 "
             + "WHERE c.id = :couponId AND c.remainingQuantity > 0")
-    void decrementQuantity(@Param("couponId") Long couponId);
+    int decrementQuantity(@Param("couponId") Long couponId);
+
+    //프로젝션 반영: 쿠폰별로 모은 발급 수만큼 한 번에 차감
+    @Modifying
+    @Query("UPDATE Coupon c SET c.remainingQuantity = CASE WHEN c.remainingQuantity > :count "
+            + "THEN c.remainingQuantity - :count ELSE 0 END WHERE c.id = :couponId")
+    int decrementQuantityBy(@Param("couponId") Long couponId, @Param("count") long count);
 
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("update Coupon c set c.remainingQuantity = c.totalQuantity")
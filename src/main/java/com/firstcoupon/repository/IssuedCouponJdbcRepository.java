@@ -0,0 +1,82 @@
+package com.firstcoupon.repository;
+
+import com.firstcoupon.domain.CouponIssuedEvent;
+import com.firstcoupon.domain.CouponStatus;
+import com.firstcoupon.utils.Snowflake;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/*
+    발급 쿠폰 대량 저장
+    엔티티를 거치지 않고 다중 행 INSERT 문을 직접 실행하며, ID는 엔티티와 같은 Snowflake로 생성한다.
+    (coupon_id, email) 유니크 제약에 걸리는 중복 행은 ON DUPLICATE KEY UPDATE id = id로 기존 행을 그대로 두고,
+    실제 저장된 행 수를 반환한다. (coupon_id, serial) 제약에 걸린 행도 같은 방식으로 저장되지 않고 중복으로 집계된다.
+    INSERT IGNORE와 달리 외래 키, NOT NULL, 길이 초과 오류는 경고로 바뀌지 않고 예외로 드러난다.
+    중복 행의 반영 행 수는 드라이버 설정(useAffectedRows)에 따라 0 또는 1로 달라지므로,
+    저장된 행 수는 이번에 생성한 ID로 다시 조회한다(같은 트랜잭션, PK 조회).
+ */
+@Repository
+@RequiredArgsConstructor
+public class IssuedCouponJdbcRepository {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO issued_coupon (id, email, serial, coupon_id, issued_at, status) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?)";
+    private static final String ON_DUPLICATE = " ON DUPLICATE KEY UPDATE id = id";
+    private static final String COUNT_PREFIX = "SELECT COUNT(*) FROM issued_coupon WHERE id IN (";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int insert(CouponIssuedEvent event) {
+        return insertAll(List.of(event), 1);
+    }
+
+    public int insertAll(List<CouponIssuedEvent> events, int chunkSize) {
+        Timestamp issuedAt = Timestamp.valueOf(LocalDateTime.now());
+        int inserted = 0;
+        for (int from = 0; from < events.size(); from += chunkSize) {
+            List<CouponIssuedEvent> chunk = events.subList(from, Math.min(from + chunkSize, events.size()));
+            Object[] ids = new Object[chunk.size()];
+            jdbcTemplate.update(insertSql(chunk.size()), params(chunk, ids, issuedAt));
+            Integer saved = jdbcTemplate.queryForObject(countSql(ids.length), Integer.class, ids);
+            inserted += saved == null ? 0 : saved;
+        }
+        return inserted;
+    }
+
+    private String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? ROW : ", " + ROW);
+        }
+        return sql.append(ON_DUPLICATE).toString();
+    }
+
+    private String countSql(int rows) {
+        StringBuilder sql = new StringBuilder(COUNT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        return sql.append(")").toString();
+    }
+
+    private Object[] params(List<CouponIssuedEvent> chunk, Object[] ids, Timestamp issuedAt) {
+        List<Object> params = new ArrayList<>(chunk.size() * 6);
+        for (int i = 0; i < chunk.size(); i++) {
+            CouponIssuedEvent event = chunk.get(i);
+            ids[i] = Snowflake.generate();
+            params.add(ids[i]);
+            params.add(event.getEmail());
+            params.add(event.getSerial());
+            params.add(event.getCouponId());
+            params.add(issuedAt);
+            params.add(CouponStatus.ISSUED.name());
+        }
+        return params.toArray();
+    }
+}
@@ -1,12 +1,30 @@
 package com.firstcoupon.repository;
 
 import com.firstcoupon.domain.IssuedCoupon;
+import com.firstcoupon.dto.IssuedCouponResponse;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface IssuedCouponRepository extends JpaRepository<IssuedCoupon, Long> {
 
-    Optional<IssuedCoupon> findByEmail(String email);
+    //unique_issued_coupon(coupon_id, email) 인덱스 사용
+    boolean existsByCouponIdAndEmail(Long couponId, String email);
+
+    @Query("SELECT ic FROM IssuedCoupon ic JOIN FETCH ic.coupon c WHERE ic.email = :email AND c.code = :code")
+    Optional<IssuedCoupon> findByEmailAndCouponCode(@Param("email") String email, @Param("code") String code);
+
+    //idx_issued_coupon_email_issued_at 커버링 인덱스를 issued_at 역순으로 읽어 filesort 없이 정렬하고, 쿠폰 정보는 PK로 조인
+    @Query("SELECT new com.firstcoupon.dto.IssuedCouponResponse(c.code, c.couponName, c.expirationDate, "
+            + "ic.status, ic.issuedAt, ic.usedAt) "
+            + "FROM IssuedCoupon ic JOIN ic.coupon c WHERE ic.email = :email ORDER BY ic.issuedAt DESC")
+    List<IssuedCouponResponse> findAllByEmail(@Param("email") String email);
 
     long countByCouponId(Long couponId);
+
+    //토큰 풀 재적재 시 이미 발급된 일련번호 제외
+    @Query("SELECT ic.serial FROM IssuedCoupon ic WHERE ic.coupon.id = :couponId AND ic.serial IS NOT NULL")
+    List<String> findSerialsByCouponId(@Param("couponId") Long couponId);
 }
@@ -0,0 +1,35 @@
+package com.firstcoupon.repository;
+
+import com.firstcoupon.domain.MailJob;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface MailJobRepository extends JpaRepository<MailJob, Long> {
+
+    //재전송 시각이 지난 메일을 다른 노드와 겹치지 않게 가져옴
+    @Query(value = "SELECT * FROM mail_job WHERE status = 'PENDING' AND next_attempt_at <= :now "
+            + "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<MailJob> findDueForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE MailJob m SET m.nextAttemptAt = :nextAttemptAt WHERE m.id IN :ids")
+    int reschedule(@Param("ids") List<Long> ids, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    @Modifying
+    @Query("UPDATE MailJob m SET m.status = com.firstcoupon.domain.MailStatus.SENT, m.sentAt = :sentAt "
+            + "WHERE m.id IN :ids")
+    int markSent(@Param("ids") List<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    //MySQL은 SET 절을 왼쪽부터 적용하므로 status를 attempts 증가보다 먼저 계산
+    @Modifying
+    @Query("UPDATE MailJob m SET m.status = CASE WHEN m.attempts + 1 >= :maxAttempts "
+            + "THEN com.firstcoupon.domain.MailStatus.FAILED ELSE m.status END, "
+            + "m.attempts = m.attempts + 1, m.nextAttemptAt = :nextAttemptAt "
+            + "WHERE m.id = :id")
+    int markFailed(@Param("id") Long id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("maxAttempts") int maxAttempts);
+}
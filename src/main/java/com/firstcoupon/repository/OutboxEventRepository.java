@@ -0,0 +1,35 @@
+package com.firstcoupon.repository;
+
+import com.firstcoupon.domain.OutboxEvent;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    //여러 노드의 릴레이가 같은 행을 중복 발행하지 않도록 잠긴 행과 다른 릴레이가 점유 중인 행은 건너뜀
+    @Query(value = "SELECT * FROM outbox_event WHERE sent_at IS NULL"
+            + " AND (claimed_until IS NULL OR claimed_until < :now)"
+            + " ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxEvent> findUnsentForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.claimedUntil = :claimedUntil WHERE o.id IN :ids")
+    int claim(@Param("ids") List<Long> ids, @Param("claimedUntil") LocalDateTime claimedUntil);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.claimedUntil = null WHERE o.id IN :ids AND o.sentAt IS NULL")
+    int release(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.sentAt = :sentAt, o.claimedUntil = null WHERE o.id IN :ids")
+    int markSent(@Param("ids") List<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent o WHERE o.sentAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+}
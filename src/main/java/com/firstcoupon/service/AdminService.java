@@ -1,18 +1,26 @@
 package com.firstcoupon.service;
 
+import com.firstcoupon.cache.CouponMetadataCache;
 import com.firstcoupon.domain.Coupon;
+import com.firstcoupon.domain.StockStrategy;
 import com.firstcoupon.dto.CouponCreate;
 import com.firstcoupon.dto.CouponResponse;
 import com.firstcoupon.exception.CouponAlreadyExists;
+import com.firstcoupon.exception.InvalidCouponCode;
+import com.firstcoupon.redis.CouponTokenPool;
 import com.firstcoupon.repository.CouponRepository;
+import com.firstcoupon.repository.IssuedCouponRepository;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +29,9 @@ public class AdminService {
     private static final Logger couponLogger = LoggerFactory.getLogger("CouponLogger");
 
     private final CouponRepository couponRepository;
+    private final CouponMetadataCache couponMetadataCache;
+    private final CouponTokenPool couponTokenPool;
+    private final IssuedCouponRepository issuedCouponRepository;
 
     @Transactional
     public void createCoupon(CouponCreate request) {
@@ -34,12 +45,44 @@ public class AdminService {
         }
 
         Coupon coupon = Coupon.create(request.getCouponName(), request.getTotalQuantity(), expirationDate,
-                issueStartTime, issueEndTime);
+                issueStartTime, issueEndTime, request.getStockStrategy(), request.getStockShards());
         couponRepository.save(coupon);
+        couponMetadataCache.evict(coupon.getCode());  //발급 경로의 메타데이터 캐시 무효화
+
+        if (coupon.getStockStrategy() == StockStrategy.TOKEN_POOL) {  //커밋 이후 발급 토큰 적재
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    try {
+                        couponTokenPool.fill(coupon.getCode(), coupon.getTotalQuantity(), coupon.getIssueEndTime(),
+                                Set.of());  //새 쿠폰은 발급된 일련번호가 없음
+                    } catch (Exception e) {  //적재 전까지 발급은 '준비 중'으로 거절되며, fillTokenPool로 다시 적재
+                        couponLogger.error("발급 토큰 적재 실패 - 코드: {}", coupon.getCode(), e);
+                    }
+                }
+            });
+        }
 
         couponLogger.info("쿠폰 생성됨 - 코드: {}, 쿠폰명: {}", coupon.getCode(), coupon.getCouponName());
     }
 
+    /*
+        적재에 실패했거나 Redis에서 사라진 토큰 풀 재적재(이미 적재된 풀은 건드리지 않음)
+        DB에 저장된 일련번호는 제외하고 적재하며, 레플리카 지연으로 최근 발급분을 놓치지 않도록 프라이머리에서 조회한다.
+        아직 DB에 저장되지 않은(카프카에 남은) 발급과 겹치는 일련번호는 unique_issued_coupon_serial 제약이 막는다.
+     */
+    @Transactional
+    public void fillTokenPool(String code) {
+        Coupon coupon = couponRepository.findByCode(code)
+                .orElseThrow(InvalidCouponCode::new);
+        if (coupon.getStockStrategy() != StockStrategy.TOKEN_POOL || couponTokenPool.isReady(code)) {
+            return;
+        }
+        Set<String> issuedSerials = Set.copyOf(issuedCouponRepository.findSerialsByCouponId(coupon.getId()));
+        couponTokenPool.fill(code, coupon.getTotalQuantity(), coupon.getIssueEndTime(), issuedSerials);
+    }
+
+    @Transactional(readOnly = true)
     public List<CouponResponse> getCoupons() {
         return couponRepository.findAll().stream()
                 .map(CouponResponse::new)
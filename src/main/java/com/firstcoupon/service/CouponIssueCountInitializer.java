@@ -0,0 +1,64 @@
+package com.firstcoupon.service;
+
+import com.firstcoupon.repository.CouponIssueCountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/*
+    쿠폰별 발급 수량 테이블 초기화
+    테이블이 비어 있으면 issued_coupon 집계로 한 번 채운다. 여러 노드가 동시에 기동해도 INSERT IGNORE로 충돌 없이 끝난다.
+    카운트 행은 초기화 또는 초기화를 마친 노드의 발급으로만 생기도록, 카프카 리스너와 웹 서버가 시작되기 전
+    (낮은 phase의 SmartLifecycle)에 동기로 실행하며 실패하면 기동을 중단한다.
+    카운트 테이블을 갱신하지 않는 이전 버전 노드가 발급을 계속하면 초기화 이후 발급이 집계에서 빠지므로,
+    이전 버전 노드를 모두 종료(드레인)한 뒤 새 버전을 배포해야 한다.
+ */
+@Component
+public class CouponIssueCountInitializer implements SmartLifecycle {
+
+    private static final Logger couponLogger = LoggerFactory.getLogger("CouponLogger");
+
+    //웹 서버(DEFAULT_PHASE - 2048)와 카프카 리스너(DEFAULT_PHASE - 100)보다 먼저 시작
+    private static final int PHASE = 0;
+
+    private final CouponIssueCountRepository couponIssueCountRepository;
+    private final TransactionTemplate transactionTemplate;
+    private volatile boolean running;
+
+    public CouponIssueCountInitializer(CouponIssueCountRepository couponIssueCountRepository,
+                                       TransactionTemplate transactionTemplate) {
+        this.couponIssueCountRepository = couponIssueCountRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void start() {
+        transactionTemplate.executeWithoutResult(status -> backfill());
+        running = true;
+    }
+
+    private void backfill() {
+        if (couponIssueCountRepository.count() > 0) {  //이미 카운트 테이블을 사용 중
+            return;
+        }
+        int coupons = couponIssueCountRepository.backfill();
+        couponLogger.info("쿠폰별 발급 수량 초기화 - 쿠폰 수: {}", coupons);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
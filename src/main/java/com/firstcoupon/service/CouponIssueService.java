@@ -1,11 +1,20 @@
 package com.firstcoupon.service;
 
-import com.firstcoupon.domain.Coupon;
+import com.firstcoupon.config.kafka.IssuedListenerProperties;
 import com.firstcoupon.domain.CouponIssuedEvent;
-import com.firstcoupon.domain.IssuedCoupon;
 import com.firstcoupon.exception.CouponNotFound;
+import com.firstcoupon.projection.RemainingQuantityProjector;
+import com.firstcoupon.repository.CouponIssueCountRepository;
 import com.firstcoupon.repository.CouponRepository;
-import com.firstcoupon.repository.IssuedCouponRepository;
+import com.firstcoupon.repository.IssuedCouponJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,13 +22,32 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
-@RequiredArgsConstructor
 public class CouponIssueService {
 
     private static final Logger logger = LoggerFactory.getLogger("CouponLogger");
 
     private final CouponRepository couponRepository;
-    private final IssuedCouponRepository issuedCouponRepository;
+    private final IssuedCouponJdbcRepository issuedCouponJdbcRepository;
+    private final IssuedListenerProperties issuedListenerProperties;
+    private final RemainingQuantityProjector remainingQuantityProjector;
+    private final CouponIssueCountRepository couponIssueCountRepository;
+    private final Counter duplicateCounter;
+
+    public CouponIssueService(CouponRepository couponRepository,
+                              IssuedCouponJdbcRepository issuedCouponJdbcRepository,
+                              IssuedListenerProperties issuedListenerProperties,
+                              RemainingQuantityProjector remainingQuantityProjector,
+                              CouponIssueCountRepository couponIssueCountRepository,
+                              MeterRegistry meterRegistry) {
+        this.couponRepository = couponRepository;
+        this.issuedCouponJdbcRepository = issuedCouponJdbcRepository;
+        this.issuedListenerProperties = issuedListenerProperties;
+        this.remainingQuantityProjector = remainingQuantityProjector;
+        this.couponIssueCountRepository = couponIssueCountRepository;
+        this.duplicateCounter = Counter.builder("coupon.issued.duplicate")
+                .description("중복 전달되어 저장을 건너뛴 쿠폰 발급 이벤트 수")
+                .register(meterRegistry);
+    }
 
     @Transactional
     public void handleCouponIssued(CouponIssuedEvent event) {
@@ -28,13 +56,52 @@ public class CouponIssueService {
         // }
         logger.info("쿠폰 발급 시작");
         Long couponId = event.getCouponId();
-        // couponRepository.decrementQuantity(couponId);  //JPQL 쿠폰 재고 감소
-        Coupon coupon = couponRepository.findById(couponId)  // 쿠폰 조회
-                .orElseThrow(CouponNotFound::new);
+        // couponRepository.decrementQuantity(couponId);  //JPQL 쿠폰 재고 감소 → RemainingQuantityProjector가 모아서 반영
+        if (!couponRepository.existsById(couponId)) {  // 쿠폰 조회
+            throw new CouponNotFound();
+        }
 
-        // 쿠폰 발급
-        IssuedCoupon issuedCoupon = IssuedCoupon.issue(event.getEmail(), coupon);
-        issuedCouponRepository.save(issuedCoupon);
+        // 쿠폰 발급(중복 전달된 이벤트는 유니크 제약에 걸려 기존 행을 유지, 저장 건수 0)
+        int inserted = issuedCouponJdbcRepository.insert(event);
+        if (inserted == 0) {
+            duplicateCounter.increment();
+            logger.info("이미 저장된 쿠폰 발급 이벤트 - 사용자: {}, 쿠폰: {}", event.getEmail(), couponId);
+            return;
+        }
+        couponIssueCountRepository.increment(couponId, inserted);  //발급 수량 증가
+        remainingQuantityProjector.record(couponId, inserted);
         logger.info("쿠폰 발급 완료");
     }
+
+    @Transactional
+    public int handleCouponIssuedBatch(List<CouponIssuedEvent> events) {
+        Set<Long> couponIds = events.stream()
+                .map(CouponIssuedEvent::getCouponId)
+                .collect(Collectors.toSet());
+        Set<Long> existingIds = new HashSet<>();
+        couponRepository.findAllById(couponIds).forEach(coupon -> existingIds.add(coupon.getId()));
+        if (!existingIds.containsAll(couponIds)) {  //존재하지 않는 쿠폰이 섞여 있으면 묶음 전체를 롤백
+            throw new CouponNotFound();
+        }
+
+        // 쿠폰 발급(다중 행 INSERT), 쿠폰별로 나눠 저장하여 쿠폰별 저장 건수를 프로젝션에 반영
+        Map<Long, List<CouponIssuedEvent>> eventsByCoupon = events.stream()
+                .collect(Collectors.groupingBy(CouponIssuedEvent::getCouponId, LinkedHashMap::new, Collectors.toList()));
+        int inserted = 0;
+        for (Map.Entry<Long, List<CouponIssuedEvent>> entry : eventsByCoupon.entrySet()) {
+            int couponInserted = issuedCouponJdbcRepository.insertAll(entry.getValue(),
+                    issuedListenerProperties.getInsertChunkSize());
+            if (couponInserted > 0) {
+                couponIssueCountRepository.increment(entry.getKey(), couponInserted);  //발급 수량 증가
+            }
+            remainingQuantityProjector.record(entry.getKey(), couponInserted);
+            inserted += couponInserted;
+        }
+        int duplicates = events.size() - inserted;
+        if (duplicates > 0) {
+            duplicateCounter.increment(duplicates);
+        }
+        logger.info("쿠폰 묶음 발급 완료 - 건수: {}, 중복: {}", inserted, duplicates);
+        return inserted;
+    }
 }
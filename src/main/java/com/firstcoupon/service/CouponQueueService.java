@@ -0,0 +1,213 @@
+package com.firstcoupon.service;
+
+import com.firstcoupon.cache.CouponMetadataCache;
+import com.firstcoupon.config.queue.CouponQueueProperties;
+import com.firstcoupon.dto.CouponIssue;
+import com.firstcoupon.dto.QueueTicket;
+import com.firstcoupon.exception.CouponSoldOut;
+import com.firstcoupon.exception.CustomException;
+import com.firstcoupon.exception.ErrorCode;
+import com.firstcoupon.exception.QueueTicketNotFound;
+import com.firstcoupon.redis.CouponIssueScripts;
+import com.firstcoupon.redis.CouponSoldOutRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/*
+    쿠폰 발급 대기열 (가상 대기실)
+    요청은 Redis Sorted Set에 진입 시각 순으로 쌓이고, 스케줄러가 틱마다 쿠폰별로 N명씩 꺼내
+    issueCouponWithKafkaAsync로 넘긴다. 발급 결과는 브로커 응답 후 Hash에 저장되어 클라이언트가 폴링으로 조회한다.
+    소진된 쿠폰의 대기 인원은 발급 경로를 거치지 않고 틱마다 정해진 인원씩 소진 결과로 정리한다.
+ */
+@Service
+public class CouponQueueService {
+
+    private static final Logger couponLogger = LoggerFactory.getLogger("CouponLogger");
+
+    private static final String QUEUE_KEY_PREFIX = "coupon_queue:";
+    private static final String RESULT_KEY_PREFIX = "coupon_queue_result:";
+    private static final String ACTIVE_QUEUES_KEY = "coupon_queue_active";
+
+    private final CouponService couponService;
+    private final CouponMetadataCache couponMetadataCache;
+    private final CouponSoldOutRegistry couponSoldOutRegistry;
+    private final StringRedisTemplate redisTemplate;
+    private final CouponQueueProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Timer admissionLatency;
+    private final ExecutorService admissionExecutor;
+    private final Map<String, AtomicLong> queueDepths = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public CouponQueueService(CouponService couponService, CouponMetadataCache couponMetadataCache,
+                              CouponSoldOutRegistry couponSoldOutRegistry, StringRedisTemplate redisTemplate,
+                              CouponQueueProperties properties, MeterRegistry meterRegistry) {
+        this.couponService = couponService;
+        this.couponMetadataCache = couponMetadataCache;
+        this.couponSoldOutRegistry = couponSoldOutRegistry;
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.admissionLatency = Timer.builder("coupon.queue.admission.latency")
+                .description("대기열 진입부터 발급 경로 입장까지 걸린 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.admissionExecutor = Executors.newFixedThreadPool(properties.getAdmissionThreads());
+    }
+
+    public QueueTicket enter(CouponIssue request) {
+        String code = request.getCode();
+        couponMetadataCache.get(code);  //유효하지 않은 쿠폰 코드 검증
+        if (couponSoldOutRegistry.isSoldOut(code)) {  //소진된 쿠폰은 대기열에 넣지 않음
+            throw new CouponSoldOut();
+        }
+
+        //이미 대기 중이면 기존 순번 유지, 처리 중이거나 발급이 끝났으면 기존 결과 반환
+        String result = redisTemplate.execute(CouponIssueScripts.QUEUE_ENTER,
+                List.of(QUEUE_KEY_PREFIX + code, RESULT_KEY_PREFIX + code, ACTIVE_QUEUES_KEY),
+                request.getEmail(), String.valueOf(System.currentTimeMillis()), code,
+                QueueTicket.PROCESSING, QueueTicket.ISSUED, ErrorCode.COUPON_ALREADY_ISSUED.name());
+        if (result != null && !result.isEmpty()) {
+            return QueueTicket.done(code, request.getEmail(), result);
+        }
+
+        return getTicket(code, request.getEmail());
+    }
+
+    public QueueTicket getTicket(String code, String email) {
+        Object result = redisTemplate.opsForHash().get(RESULT_KEY_PREFIX + code, email);
+        if (result != null) {  //입장 처리가 끝난 경우
+            return QueueTicket.done(code, email, result.toString());
+        }
+
+        Long rank = redisTemplate.opsForZSet().rank(QUEUE_KEY_PREFIX + code, email);
+        if (rank == null) {
+            throw new QueueTicketNotFound();
+        }
+        return QueueTicket.waiting(code, email, rank);
+    }
+
+    //입장한 요청은 발급 스레드에 넘기기만 하고 완료를 기다리지 않음(틱이 발급 지연에 묶이지 않도록)
+    @Scheduled(fixedDelayString = "${coupon.queue.tick-interval-ms:100}")
+    public void admit() {
+        Set<String> codes = redisTemplate.opsForSet().members(ACTIVE_QUEUES_KEY);
+        if (codes == null || codes.isEmpty()) {
+            return;
+        }
+
+        codes.forEach(this::admit);
+    }
+
+    private void admit(String code) {
+        String queueKey = QUEUE_KEY_PREFIX + code;
+        boolean soldOut = couponSoldOutRegistry.isSoldOut(code);
+        List<String> admitted;
+        if (soldOut) {  //소진된 쿠폰은 틱마다 일정 인원씩 소진 결과로 정리(큰 대기열로 Redis가 오래 막히지 않도록)
+            popForAdmission(code, properties.getSoldOutDrainPerTick(), ErrorCode.COUPON_SOLD_OUT.name());
+            admitted = List.of();
+        } else {  //처리 중인 인원이 한도를 넘지 않도록 입장
+            long count = Math.min(properties.getAdmissionPerTick(code), properties.getMaxInFlight() - inFlight.get());
+            admitted = count > 0 ? popForAdmission(code, count, QueueTicket.PROCESSING) : List.of();
+        }
+
+        Long depth = redisTemplate.opsForZSet().zCard(queueKey);
+        recordDepth(code, depth == null ? 0 : depth);
+        if (depth == null || depth == 0) {  //대기열이 비면 활성 목록에서 제외 후 재확인
+            redisTemplate.opsForSet().remove(ACTIVE_QUEUES_KEY, code);
+            Long recheck = redisTemplate.opsForZSet().zCard(queueKey);
+            if (recheck != null && recheck > 0) {
+                redisTemplate.opsForSet().add(ACTIVE_QUEUES_KEY, code);
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        for (int i = 0; i + 1 < admitted.size(); i += 2) {
+            String email = admitted.get(i);
+            admissionLatency.record(Duration.ofMillis(now - (long) Double.parseDouble(admitted.get(i + 1))));
+            inFlight.incrementAndGet();  //브로커 응답까지 처리 중 인원으로 집계
+            admissionExecutor.execute(() -> issue(code, email));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> popForAdmission(String code, long count, String mark) {
+        List<String> popped = redisTemplate.execute(CouponIssueScripts.QUEUE_ADMIT,
+                List.of(QUEUE_KEY_PREFIX + code, RESULT_KEY_PREFIX + code),
+                String.valueOf(count), mark, String.valueOf(properties.getResultTtl().toMillis()));
+        return popped == null ? List.of() : popped;
+    }
+
+    //ISSUED는 브로커가 발급 이벤트를 기록한 뒤에만 저장(전송 실패 시 Redis 예약은 롤백되고 ERROR로 저장)
+    private void issue(String code, String email) {
+        CompletableFuture<Void> future;
+        try {
+            future = couponService.issueCouponWithKafkaAsync(new CouponIssue(code, email));
+        } catch (Exception e) {
+            complete(code, email, e);
+            return;
+        }
+        future.whenComplete((ignored, ex) -> complete(code, email, ex));
+    }
+
+    private void complete(String code, String email, Throwable ex) {
+        try {
+            saveResult(code, email, toResult(code, email, ex));
+        } catch (Exception e) {
+            couponLogger.error("대기열 발급 결과 저장 실패 - 코드: {}, 사용자: {}", code, email, e);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private String toResult(String code, String email, Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        if (cause == null) {
+            return QueueTicket.ISSUED;
+        }
+        if (cause instanceof CustomException e) {
+            return e.getErrorCode().name();
+        }
+        couponLogger.error("대기열 발급 처리 중 오류 발생 - 코드: {}, 사용자: {}", code, email, cause);
+        return ErrorCode.COUPON_ERROR.name();
+    }
+
+    private void saveResult(String code, String email, String result) {
+        String resultKey = RESULT_KEY_PREFIX + code;
+        redisTemplate.opsForHash().put(resultKey, email, result);
+        redisTemplate.expire(resultKey, properties.getResultTtl());
+    }
+
+    private void recordDepth(String code, long depth) {
+        queueDepths.computeIfAbsent(code, key -> {
+            AtomicLong value = new AtomicLong();
+            Gauge.builder("coupon.queue.depth", value, AtomicLong::get)
+                    .description("쿠폰별 대기 인원")
+                    .tag("code", key)
+                    .register(meterRegistry);
+            return value;
+        }).set(depth);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        admissionExecutor.shutdown();
+    }
+}
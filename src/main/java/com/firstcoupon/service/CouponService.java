@@ -1,24 +1,45 @@
 package com.firstcoupon.service;
 
 
+import com.firstcoupon.cache.CouponMetadata;
+import com.firstcoupon.cache.CouponMetadataCache;
+import com.firstcoupon.config.redis.CoalescingProperties;
+import com.firstcoupon.config.redis.LeasingProperties;
 import com.firstcoupon.domain.Coupon;
+import com.firstcoupon.domain.CouponIssuedEvent;
+import com.firstcoupon.domain.CouponUsedEvent;
 import com.firstcoupon.domain.IssuedCoupon;
+import com.firstcoupon.domain.StockStrategy;
 import com.firstcoupon.dto.CouponIssue;
+import com.firstcoupon.dto.IssuedCouponResponse;
 import com.firstcoupon.exception.CouponAlreadyIssued;
 import com.firstcoupon.exception.CouponAlreadyUsed;
 import com.firstcoupon.exception.CouponError;
 import com.firstcoupon.exception.CouponExpired;
 import com.firstcoupon.exception.CouponLockFailed;
 import com.firstcoupon.exception.CouponSoldOut;
+import com.firstcoupon.exception.CouponStockNotReady;
 import com.firstcoupon.exception.InvalidCouponCode;
 import com.firstcoupon.exception.IssuedCouponNotFound;
 import com.firstcoupon.exception.NotIssuableTime;
 import com.firstcoupon.kafka.CouponProducer;
+import com.firstcoupon.outbox.OutboxWriter;
+import com.firstcoupon.redis.CouponIssueDispatcher;
+import com.firstcoupon.redis.CouponIssueScripts;
+import com.firstcoupon.redis.CouponSoldOutRegistry;
+import com.firstcoupon.redis.CouponStockLeaser;
+import com.firstcoupon.redis.CouponStockReleaser;
+import com.firstcoupon.redis.CouponTokenPool;
+import com.firstcoupon.redis.ShardedStockCounter;
+import com.firstcoupon.repository.CouponIssueCountRepository;
 import com.firstcoupon.repository.CouponRepository;
+import com.firstcoupon.repository.IssuedCouponJdbcRepository;
 import com.firstcoupon.repository.IssuedCouponRepository;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,7 +48,7 @@ import org.redisson.api.RedissonClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -38,26 +59,38 @@ public class CouponService {
 
     private static final Logger couponLogger = LoggerFactory.getLogger("CouponLogger");
 
-    private static final String COUPON_COUNT_KEY_PREFIX = "coupon_count:";
-    private static final String COUPON_USER_KEY_PREFIX = "coupon_user:";
+    public static final String COUPON_COUNT_KEY_PREFIX = "coupon_count:";
+    public static final String COUPON_USER_KEY_PREFIX = "coupon_user:";
     private static final String LOCK_KEY = "coupon_lock";
 
     private final CouponRepository couponRepository;
     private final IssuedCouponRepository issuedCouponRepository;
+    private final IssuedCouponJdbcRepository issuedCouponJdbcRepository;
+    private final CouponIssueCountRepository couponIssueCountRepository;
     private final StringRedisTemplate redisTemplate;
     private final RedissonClient redissonClient;
     private final CouponProducer couponProducer;
+    private final CouponMetadataCache couponMetadataCache;
+    private final CouponSoldOutRegistry couponSoldOutRegistry;
+    private final CouponIssueDispatcher couponIssueDispatcher;
+    private final CoalescingProperties coalescingProperties;
+    private final ShardedStockCounter shardedStockCounter;
+    private final CouponTokenPool couponTokenPool;
+    private final CouponStockReleaser couponStockReleaser;
+    private final CouponStockLeaser couponStockLeaser;
+    private final LeasingProperties leasingProperties;
+    private final OutboxWriter outboxWriter;
 
     @Transactional
     public void issueCoupon(CouponIssue request) {
-        boolean isAlreadyIssued = issuedCouponRepository.findByEmail(request.getEmail()).isPresent();
-        if (isAlreadyIssued) {  // 이미 쿠폰을 발급받은 회원일 경우
-            throw new CouponAlreadyIssued();
-        }
-
         Coupon coupon = couponRepository.findByCode(request.getCode())
                 .orElseThrow(InvalidCouponCode::new);
 
+        boolean isAlreadyIssued = issuedCouponRepository.existsByCouponIdAndEmail(coupon.getId(), request.getEmail());
+        if (isAlreadyIssued) {  // 이미 해당 쿠폰을 발급받은 회원일 경우
+            throw new CouponAlreadyIssued();
+        }
+
         boolean isNotIssuable = !coupon.isIssuable();
         if (isNotIssuable) {  // 현재 시간이 발급 제한 시간일 때
             throw new NotIssuableTime();
@@ -69,7 +102,7 @@ public class CouponService {
         // }
 
         int totalQuantity = coupon.getTotalQuantity();  //총 쿠폰 발급 수량
-        long issuedCount = issuedCouponRepository.count();  //현재 발급된 쿠폰 수량
+        long issuedCount = couponIssueCountRepository.getIssuedCount(coupon.getId());  //현재 발급된 쿠폰 수량
 
         if (issuedCount >= totalQuantity) {  //재고가 없을 경우
            throw new CouponSoldOut();
@@ -79,18 +112,19 @@ public class CouponService {
         IssuedCoupon issuedCoupon = IssuedCoupon.issue(request.getEmail(), coupon);  //쿠폰 발급
 
         issuedCouponRepository.save(issuedCoupon);
+        couponIssueCountRepository.increment(coupon.getId(), 1);  //발급 수량 증가
     }
 
     @Transactional
     public void issueCouponWithSynchronized(CouponIssue request) {
-        boolean isAlreadyIssued = issuedCouponRepository.findByEmail(request.getEmail()).isPresent();
-        if (isAlreadyIssued) {  // 이미 쿠폰을 발급받은 회원일 경우
-            throw new CouponAlreadyIssued();
-        }
-
         Coupon coupon = couponRepository.findByCode(request.getCode())
                 .orElseThrow(InvalidCouponCode::new);
 
+        boolean isAlreadyIssued = issuedCouponRepository.existsByCouponIdAndEmail(coupon.getId(), request.getEmail());
+        if (isAlreadyIssued) {  // 이미 해당 쿠폰을 발급받은 회원일 경우
+            throw new CouponAlreadyIssued();
+        }
+
         boolean isNotIssuable = !coupon.isIssuable();
         if (isNotIssuable) {  //현재 시간이 발급 제한 시간일 때
             throw new NotIssuableTime();
@@ -102,7 +136,7 @@ public class CouponService {
         // }
 
         int totalQuantity = coupon.getTotalQuantity();  //총 쿠폰 발급 수량
-        long issuedCount = issuedCouponRepository.countByCouponId(coupon.getId());  //현재 발급된 쿠폰 수량
+        long issuedCount = couponIssueCountRepository.getIssuedCount(coupon.getId());  //현재 발급된 쿠폰 수량
         if (issuedCount >= totalQuantity) {  //재고가 없을 경우
             throw new CouponSoldOut();
         }
@@ -110,20 +144,21 @@ public class CouponService {
         // coupon.decrementQuantity();
         IssuedCoupon issuedCoupon = IssuedCoupon.issue(request.getEmail(), coupon);  // 쿠폰 발급
         issuedCouponRepository.save(issuedCoupon);
+        couponIssueCountRepository.increment(coupon.getId(), 1);  //발급 수량 증가
     }
 
     @Transactional
     public void issueCouponWithPessimisticWrite(CouponIssue request) {
-        boolean isAlreadyIssued = issuedCouponRepository.findByEmail(request.getEmail()).isPresent();
-        if (isAlreadyIssued) {  // 이미 쿠폰을 발급받은 회원일 경우
-            throw new CouponAlreadyIssued();
-        }
-
         // Coupon coupon = couponRepository.findByCode(request.getCode())
         //         .orElseThrow(InvalidCouponCode::new);
         Coupon coupon = couponRepository.findByCodeForUpdate(request.getCode())
                 .orElseThrow(InvalidCouponCode::new);  // 쿠폰 조회에 비관적 락 적용
 
+        boolean isAlreadyIssued = issuedCouponRepository.existsByCouponIdAndEmail(coupon.getId(), request.getEmail());
+        if (isAlreadyIssued) {  // 이미 해당 쿠폰을 발급받은 회원일 경우
+            throw new CouponAlreadyIssued();
+        }
+
         boolean isNotIssuable = !coupon.isIssuable();
         if (isNotIssuable) {  //현재 시간이 발급 제한 시간일 때
             throw new NotIssuableTime();
@@ -137,6 +172,36 @@ public class CouponService {
         coupon.decrementQuantity();
         IssuedCoupon issuedCoupon = IssuedCoupon.issue(request.getEmail(), coupon);  // 쿠폰 발급
         issuedCouponRepository.save(issuedCoupon);
+        couponIssueCountRepository.increment(coupon.getId(), 1);  //발급 수량 증가
+    }
+
+    /*
+        락 없이 DB만 사용하는 발급
+        중복 발급은 unique_issued_coupon 제약(ON DUPLICATE KEY UPDATE id = id, 저장 건수 0)으로, 재고는 조건부 UPDATE의 반영 행 수로 판단한다.
+        소진 이후의 요청이 발급 내역 INSERT와 카운트 행 갱신 없이 바로 끝나도록 차감을 먼저 수행하고,
+        이후 중복 발급이 확인되면 트랜잭션 전체를 롤백하여 차감한 재고를 되돌린다.
+     */
+    @Transactional
+    public void issueCouponWithConditionalUpdate(CouponIssue request) {
+        Coupon coupon = couponRepository.findByCode(request.getCode())
+                .orElseThrow(InvalidCouponCode::new);
+
+        boolean isNotIssuable = !coupon.isIssuable();
+        if (isNotIssuable) {  //현재 시간이 발급 제한 시간일 때
+            throw new NotIssuableTime();
+        }
+
+        Long couponId = coupon.getId();
+        int decremented = couponRepository.decrementQuantity(couponId);
+        if (decremented == 0) {  //재고가 없을 경우
+            throw new CouponSoldOut();
+        }
+
+        int inserted = issuedCouponJdbcRepository.insert(new CouponIssuedEvent(request.getEmail(), couponId));
+        if (inserted == 0) {  //이미 해당 쿠폰을 발급받은 회원일 경우(차감한 재고도 롤백)
+            throw new CouponAlreadyIssued();
+        }
+        couponIssueCountRepository.increment(couponId, 1);  //발급 수량 증가
     }
 
     @Transactional
@@ -149,41 +214,9 @@ public class CouponService {
         long duration = coupon.getDuration();  //쿠폰 사용 기간
         int totalQuantity = coupon.getTotalQuantity();  //총 쿠폰 발급 수량
 
-/*
-        Lua 스크립트 정의
-        return value
-        -1: 이미 쿠폰을 발급받은 사용자
-         0: 쿠폰 재고 소진
-         1: 쿠폰 발급 성공
-
-        KEYS[1]: userKey (쿠폰 코드 + 사용자 식별자)
-        KEYS[2]: countKey (쿠폰별 발급 수량 카운트)
-        ARGV[1]: totalQuantity (총 발급 수량)
-        ARGV[2]: duration (중복 발급 방지 TTL)
-         */
-        String luaScript = """
-                -- 중복 쿠폰 발급 검증
-                if redis.call('EXISTS', KEYS[1]) == 1 then
-                    return -1
-                end
-                
-                -- 쿠폰 발급 수량 체크
-                local next = redis.call('INCR', KEYS[2])
-                if tonumber(next) > tonumber(ARGV[1]) then
-                    redis.call('DECR', KEYS[2]);    -- 롤백
-                    return 0
-                end
-                
-                -- 사용자 발급 여부 저장
-                redis.call('SET', KEYS[1], 'issued', 'EX', ARGV[2])
-                return 1
-                """;
-        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
-        script.setScriptText(luaScript);
-        script.setResultType(Long.class);
-
         List<String> keys = Arrays.asList(userKey, countKey);
-        long result = redisTemplate.execute(script, keys, String.valueOf(totalQuantity), String.valueOf(duration));
+        long result = redisTemplate.execute(CouponIssueScripts.ISSUE, keys, String.valueOf(totalQuantity),
+                String.valueOf(duration));
 
         if (result == -1) {  // 이미 발급받은 사용자일 경우
             throw new CouponAlreadyIssued();
@@ -194,6 +227,7 @@ public class CouponService {
         try {
             IssuedCoupon issuedCoupon = IssuedCoupon.issue(request.getEmail(), coupon);  // 쿠폰 발급
             issuedCouponRepository.save(issuedCoupon);
+            couponIssueCountRepository.increment(coupon.getId(), 1);  //발급 수량 증가
         } catch (Exception e) {  // 쿠폰 발급 실패시 롤백
             redisTemplate.opsForValue().decrement(countKey);
             redisTemplate.delete(userKey);
@@ -209,15 +243,16 @@ public class CouponService {
             //5초 동안 락 획득을 시도하고, 락을 획득하면 10초 후 자동 해제
             if (lock.tryLock(5, 10, TimeUnit.SECONDS)) {
                 try {
-                    boolean isAlreadyIssued = issuedCouponRepository.findByEmail(request.getEmail()).isPresent();
-                    if (isAlreadyIssued) {  //이미 발급받은 사용자일 경우
+                    Coupon coupon = couponRepository.findByCode(request.getCode())
+                            .orElseThrow(InvalidCouponCode::new);
+
+                    boolean isAlreadyIssued = issuedCouponRepository.existsByCouponIdAndEmail(coupon.getId(), request.getEmail());
+                    if (isAlreadyIssued) {  //이미 해당 쿠폰을 발급받은 사용자일 경우
                         throw new CouponAlreadyIssued();
                     }
 
-                    Coupon coupon = couponRepository.findByCode(request.getCode())
-                            .orElseThrow(InvalidCouponCode::new);
                     int totalQuantity = coupon.getTotalQuantity();  //총 쿠폰 발급 수량
-                    long currentCount = issuedCouponRepository.count();  //현재 발급된 쿠폰 수량
+                    long currentCount = couponIssueCountRepository.getIssuedCount(coupon.getId());  //현재 발급된 쿠폰 수량
 
                     if (currentCount >= totalQuantity) {  //재고가 없을 경우
                         throw new CouponSoldOut();
@@ -225,6 +260,7 @@ public class CouponService {
 
                     IssuedCoupon issuedCoupon = IssuedCoupon.issue(request.getEmail(), coupon);
                     issuedCouponRepository.save(issuedCoupon);
+                    couponIssueCountRepository.increment(coupon.getId(), 1);  //발급 수량 증가
                 } finally {
                     lock.unlock();
                 }
@@ -238,65 +274,97 @@ public class CouponService {
     }
 
     public void issueCouponWithKafka(CouponIssue request) {
-        String userKey = COUPON_USER_KEY_PREFIX + request.getCode() + ":" + request.getEmail();
-        String countKey = COUPON_COUNT_KEY_PREFIX + request.getCode();
+        IssueReservation reservation = reserve(request);
+        publish(reservation);  //브로커 응답은 기다리지 않고, 전송 실패 시 콜백에서 롤백
+    }
 
-        Coupon coupon = couponRepository.findByCode(request.getCode())
-                .orElseThrow(InvalidCouponCode::new);
-        long duration = coupon.getDuration();  //쿠폰 사용 기간
-        int totalQuantity = coupon.getTotalQuantity();  //총 쿠폰 발급 수량
+    public CompletableFuture<Void> issueCouponWithKafkaAsync(CouponIssue request) {
+        IssueReservation reservation = reserve(request);
+        return publish(reservation);  //브로커 응답(ack) 시점에 완료
+    }
 
-        /*
-        Lua 스크립트 정의
-        return value
-        -1: 이미 쿠폰을 발급받은 사용자
-         0: 쿠폰 재고 소진
-         1: 쿠폰 발급 성공
-
-        KEYS[1]: userKey (쿠폰 코드 + 사용자 식별자)
-        KEYS[2]: countKey (쿠폰별 발급 수량 카운트)
-        ARGV[1]: totalQuantity (총 발급 수량)
-        ARGV[2]: duration (중복 발급 방지 TTL)
-         */
-        String luaScript = """
-                -- 중복 쿠폰 발급 검증
-                if redis.call('EXISTS', KEYS[1]) == 1 then
-                    return -1
-                end
-                
-                -- 쿠폰 발급 수량 체크
-                local next = redis.call('INCR', KEYS[2])
-                if tonumber(next) > tonumber(ARGV[1]) then
-                    redis.call('DECR', KEYS[2]);    -- 롤백
-                    return 0
-                end
-                
-                -- 사용자 발급 여부 저장
-                redis.call('SET', KEYS[1], 'issued', 'EX', ARGV[2])
-                return 1
-                """;
-
-        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
-        script.setScriptText(luaScript);
-        script.setResultType(Long.class);
+    private IssueReservation reserve(CouponIssue request) {
+        if (couponSoldOutRegistry.isSoldOut(request.getCode())) {  //소진된 쿠폰은 Redis 조회 없이 거절
+            throw new CouponSoldOut();
+        }
 
-        List<String> keys = Arrays.asList(userKey, countKey);
-        long result = redisTemplate.execute(script, keys, String.valueOf(totalQuantity), String.valueOf(duration));
+        String userKey = COUPON_USER_KEY_PREFIX + request.getCode() + ":" + request.getEmail();
+        String countKey = COUPON_COUNT_KEY_PREFIX + request.getCode();
+
+        CouponMetadata coupon = couponMetadataCache.get(request.getCode());  //로컬 캐시에서 쿠폰 메타데이터 조회
+        String serial = null;
+        long result;
+        if (coupon.getStockStrategy() == StockStrategy.TOKEN_POOL) {  //미리 생성된 토큰을 꺼내 발급
+            String token = couponTokenPool.issue(coupon, userKey);
+            result = CouponTokenPool.toResult(token);
+            serial = result == 1 ? token : null;
+        } else if (coupon.getStockStrategy() == StockStrategy.SHARDED_COUNTER) {  //샤드 카운터로 재고 분산
+            result = shardedStockCounter.issue(coupon, request.getEmail(), userKey, countKey);
+        } else if (leasingProperties.isEnabled()) {  //노드가 임대한 재고에서 로컬로 차감
+            result = couponStockLeaser.issue(coupon, userKey, countKey);
+        } else {
+            result = executeIssueScript(coupon, userKey, countKey);
+        }
 
         if (result == -1) {  //이미 발급받은 사용자일 경우
             log.error("이미 발급받은 사용자입니다.");
             throw new CouponAlreadyIssued();
+        } else if (result == -2) {  //토큰 풀 적재 전, 소진으로 전파하지 않음
+            log.error("발급 토큰이 아직 적재되지 않았습니다. - 코드: {}", request.getCode());
+            throw new CouponStockNotReady();
+        } else if (result == CouponStockLeaser.LOCAL_EXHAUSTED) {  //다른 노드가 임대 재고를 보유 중이므로 소진 전파 안 함
+            throw new CouponSoldOut();
         } else if (result == 0) {  //재고가 없을 경우
             log.error("쿠폰이 모두 소진되었습니다.");
+            couponSoldOutRegistry.markSoldOut(request.getCode());  //다른 노드에 소진 전파
             throw new CouponSoldOut();
         }
 
-        couponProducer.send(request.getEmail(), coupon.getId());
+        return new IssueReservation(request.getEmail(), coupon, userKey, countKey, serial);
+    }
+
+    private CompletableFuture<Void> publish(IssueReservation reservation) {
+        CompletableFuture<SendResult<String, Object>> future;
+        try {
+            future = couponProducer.send(reservation.email, reservation.coupon.getId(), reservation.serial);
+        } catch (Exception e) {  //전송 요청 자체가 실패한 경우
+            log.error("쿠폰 발급 이벤트 전송 실패 - 코드: {}", reservation.coupon.getCode(), e);
+            rollbackReservation(reservation);
+            throw new CouponError();
+        }
+
+        return future.handle((result, ex) -> {
+            if (ex != null) {  //브로커에 기록되지 않은 발급은 Redis 예약을 되돌림
+                log.error("쿠폰 발급 이벤트 전송 실패 - 코드: {}", reservation.coupon.getCode(), ex);
+                rollbackReservation(reservation);
+                throw new CouponError();
+            }
+            return null;
+        });
+    }
+
+    private void rollbackReservation(IssueReservation reservation) {
+        couponStockReleaser.release(reservation.coupon, reservation.userKey, reservation.countKey);
+    }
+
+    private long executeIssueScript(CouponMetadata coupon, String userKey, String countKey) {
+        if (coalescingProperties.isEnabled()) {  //동시 요청을 묶어서 한 번의 왕복으로 처리
+            try {
+                return couponIssueDispatcher.submit(coupon, userKey, countKey).join();
+            } catch (CompletionException e) {
+                log.error("묶음 발급 처리 중 오류가 발생했습니다.", e);
+                throw new CouponError();
+            }
+        }
+
+        List<String> keys = Arrays.asList(userKey, countKey);
+        return redisTemplate.execute(CouponIssueScripts.ISSUE, keys,
+                String.valueOf(coupon.getTotalQuantity()), String.valueOf(coupon.getDuration()));
     }
 
     @Transactional
-    public void useCoupon(String email) {
-        IssuedCoupon issuedCoupon = issuedCouponRepository.findByEmail(email)
+    public void useCoupon(String email, String code) {
+        IssuedCoupon issuedCoupon = issuedCouponRepository.findByEmailAndCouponCode(email, code)
                 .orElseThrow(IssuedCouponNotFound::new);
 
         LocalDate expirationDate = issuedCoupon.getCoupon().getExpirationDate();
@@ -312,7 +380,31 @@ public class CouponService {
         }
 
         issuedCoupon.use();
-        couponProducer.send(email, issuedCoupon.getCoupon().getCouponName());
+        //사용 처리와 같은 트랜잭션에 이벤트를 기록하고, 발행은 OutboxRelay가 담당
+        outboxWriter.append("coupon-used", null, new CouponUsedEvent(email, issuedCoupon.getCoupon().getCouponName()));
         couponLogger.info("쿠폰 사용됨 - 코드: {}, 사용자: {}", issuedCoupon.getCoupon().getCode(), email);
     }
+
+    @Transactional(readOnly = true)
+    public List<IssuedCouponResponse> getMyCoupons(String email) {
+        return issuedCouponRepository.findAllByEmail(email);
+    }
+
+    private static class IssueReservation {
+
+        private final String email;
+        private final CouponMetadata coupon;
+        private final String userKey;
+        private final String countKey;
+        private final String serial;
+
+        private IssueReservation(String email, CouponMetadata coupon, String userKey, String countKey,
+                                 String serial) {
+            this.email = email;
+            this.coupon = coupon;
+            this.userKey = userKey;
+            this.countKey = countKey;
+            this.serial = serial;
+        }
+    }
 }
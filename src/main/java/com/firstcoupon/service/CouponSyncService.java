@@ -1,6 +1,7 @@
 package com.firstcoupon.service;
 
 import com.firstcoupon.dto.CouponIssue;
+import java.util.concurrent.locks.ReentrantLock;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -10,7 +11,15 @@ public class CouponSyncService {
 
     private final CouponService couponService;
 
-    public synchronized void issueCouponWithSynchronized(CouponIssue request) {
-        couponService.issueCouponWithSynchronized(request);
+    //synchronized는 가상 스레드를 캐리어 스레드에 고정(pinning)시키므로 ReentrantLock 사용
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public void issueCouponWithSynchronized(CouponIssue request) {
+        lock.lock();
+        try {
+            couponService.issueCouponWithSynchronized(request);
+        } finally {
+            lock.unlock();
+        }
     }
 }
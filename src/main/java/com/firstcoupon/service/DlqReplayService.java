@@ -0,0 +1,312 @@
+package com.firstcoupon.service;
+
+import com.firstcoupon.config.kafka.DlqReplayProperties;
+import com.firstcoupon.domain.CouponIssuedEvent;
+import com.firstcoupon.dto.DlqReplayRequest;
+import com.firstcoupon.dto.DlqReplayStatus;
+import com.firstcoupon.exception.DlqReplayInProgress;
+import com.firstcoupon.exception.InvalidReplayRange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.RecordDeserializationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Service;
+
+/*
+    DLQ 재처리
+    coupon-issued-dlq를 시간 범위 또는 오프셋 범위로 읽어 초당 상한에 맞춰 묶음 저장 경로로 다시 저장한다.
+    컨슈머 그룹 오프셋은 커밋하지 않으며, 이미 저장된 발급은 유니크 제약(ON DUPLICATE KEY UPDATE id = id)으로 기존 행을 유지한다.
+    한 번에 하나의 재처리만 실행된다.
+ */
+@Service
+public class DlqReplayService {
+
+    private static final Logger couponLogger = LoggerFactory.getLogger("CouponLogger");
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    private final ConsumerFactory<String, CouponIssuedEvent> issuedConsumerFactory;
+    private final CouponIssueService couponIssueService;
+    private final DlqReplayProperties properties;
+    private final Counter insertedCounter;
+    private final Counter skippedCounter;
+    private final Counter failedCounter;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "dlq-replay"));
+    private final AtomicReference<ReplayJob> current = new AtomicReference<>();
+
+    public DlqReplayService(ConsumerFactory<String, CouponIssuedEvent> issuedConsumerFactory,
+                            CouponIssueService couponIssueService,
+                            DlqReplayProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.issuedConsumerFactory = issuedConsumerFactory;
+        this.couponIssueService = couponIssueService;
+        this.properties = properties;
+        this.insertedCounter = meterRegistry.counter("coupon.dlq.replay.records", "result", "inserted");
+        this.skippedCounter = meterRegistry.counter("coupon.dlq.replay.records", "result", "skipped");
+        this.failedCounter = meterRegistry.counter("coupon.dlq.replay.records", "result", "failed");
+    }
+
+    public DlqReplayStatus start(DlqReplayRequest request) {
+        if (request.isTimeRange() == request.isOffsetRange()) {  //둘 중 하나만 입력
+            throw new InvalidReplayRange();
+        }
+
+        int recordsPerSecond = request.getRecordsPerSecond() != null
+                ? request.getRecordsPerSecond() : properties.getRecordsPerSecond();
+        ReplayJob job = new ReplayJob(Math.max(1, recordsPerSecond));
+        ReplayJob running = current.get();
+        if (running != null && running.isRunning() || !current.compareAndSet(running, job)) {
+            throw new DlqReplayInProgress();
+        }
+
+        executor.submit(() -> run(job, request));
+        return job.toStatus();
+    }
+
+    public DlqReplayStatus getStatus() {
+        ReplayJob job = current.get();
+        return job == null ? DlqReplayStatus.idle() : job.toStatus();
+    }
+
+    public DlqReplayStatus cancel() {
+        ReplayJob job = current.get();
+        if (job == null) {
+            return DlqReplayStatus.idle();
+        }
+        job.cancelled = true;
+        return job.toStatus();
+    }
+
+    private void run(ReplayJob job, DlqReplayRequest request) {
+        try (Consumer<String, CouponIssuedEvent> consumer =
+                     issuedConsumerFactory.createConsumer("coupon-dlq-replay", "replay")) {
+            Map<TopicPartition, long[]> ranges = resolveRanges(consumer, request);  //파티션별 [시작, 끝) 오프셋
+            consumer.assign(ranges.keySet());
+            ranges.forEach((partition, range) -> {
+                consumer.seek(partition, range[0]);
+                job.target.addAndGet(Math.max(0, range[1] - range[0]));
+            });
+
+            replay(consumer, job, ranges);
+            job.finish(job.cancelled ? DlqReplayStatus.CANCELLED : DlqReplayStatus.COMPLETED);
+        } catch (Exception e) {
+            couponLogger.error("DLQ 재처리 실패", e);
+            job.finish(DlqReplayStatus.FAILED);
+        }
+        couponLogger.info("DLQ 재처리 종료 - 상태: {}, 저장: {}, 중복: {}, 실패: {}",
+                job.state, job.inserted.get(), job.skipped.get(), job.failed.get());
+    }
+
+    private Map<TopicPartition, long[]> resolveRanges(Consumer<String, CouponIssuedEvent> consumer,
+                                                      DlqReplayRequest request) {
+        List<TopicPartition> partitions = new ArrayList<>();
+        consumer.partitionsFor(properties.getTopic()).forEach(info -> {
+            if (request.getPartition() == null || request.getPartition() == info.partition()) {
+                partitions.add(new TopicPartition(info.topic(), info.partition()));
+            }
+        });
+        Map<TopicPartition, Long> beginnings = consumer.beginningOffsets(partitions);
+        Map<TopicPartition, Long> ends = consumer.endOffsets(partitions);
+
+        Map<TopicPartition, long[]> ranges = new HashMap<>();
+        if (request.isTimeRange()) {
+            Map<TopicPartition, OffsetAndTimestamp> starts = consumer.offsetsForTimes(timestamps(partitions, request.getFromTime()));
+            Map<TopicPartition, OffsetAndTimestamp> stops = request.getToTime() == null
+                    ? Map.of() : consumer.offsetsForTimes(timestamps(partitions, request.getToTime()));
+            for (TopicPartition partition : partitions) {
+                long end = ends.get(partition);
+                long start = starts.get(partition) == null ? end : starts.get(partition).offset();
+                long stop = stops.get(partition) == null ? end : stops.get(partition).offset();
+                ranges.put(partition, new long[]{start, stop});
+            }
+        } else {
+            for (TopicPartition partition : partitions) {
+                long start = Math.max(request.getFromOffset(), beginnings.get(partition));
+                long stop = request.getToOffset() == null
+                        ? ends.get(partition) : Math.min(request.getToOffset() + 1, ends.get(partition));
+                ranges.put(partition, new long[]{start, Math.max(start, stop)});
+            }
+        }
+        return ranges;
+    }
+
+    private Map<TopicPartition, Long> timestamps(List<TopicPartition> partitions, LocalDateTime time) {
+        long epochMillis = time.atZone(ZONE).toInstant().toEpochMilli();
+        Map<TopicPartition, Long> timestamps = new HashMap<>();
+        partitions.forEach(partition -> timestamps.put(partition, epochMillis));
+        return timestamps;
+    }
+
+    private void replay(Consumer<String, CouponIssuedEvent> consumer, ReplayJob job,
+                        Map<TopicPartition, long[]> ranges) {
+        Map<TopicPartition, long[]> remaining = new HashMap<>(ranges);
+        remaining.values().removeIf(range -> range[0] >= range[1]);
+        List<CouponIssuedEvent> buffer = new ArrayList<>(properties.getBatchSize());
+
+        while (!remaining.isEmpty() && !job.cancelled) {
+            try {
+                for (ConsumerRecord<String, CouponIssuedEvent> record : consumer.poll(properties.getPollTimeout())) {
+                    TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                    long[] range = remaining.get(partition);
+                    if (range == null || record.offset() >= range[1]) {
+                        continue;
+                    }
+                    job.processed.incrementAndGet();
+                    buffer.add(record.value());
+                    if (record.offset() + 1 >= range[1]) {  //파티션 범위 끝
+                        remaining.remove(partition);
+                        consumer.pause(List.of(partition));
+                    }
+                    if (buffer.size() >= properties.getBatchSize()) {
+                        flush(job, buffer);
+                    }
+                }
+            } catch (RecordDeserializationException e) {  //읽을 수 없는 레코드는 실패로 집계하고 건너뜀
+                job.processed.incrementAndGet();
+                job.failed.incrementAndGet();
+                failedCounter.increment();
+                consumer.seek(e.topicPartition(), e.offset() + 1);
+                long[] range = remaining.get(e.topicPartition());
+                if (range != null && e.offset() + 1 >= range[1]) {
+                    remaining.remove(e.topicPartition());
+                }
+            }
+            finishReached(consumer, remaining);
+        }
+        flush(job, buffer);
+    }
+
+    //범위 끝 직전 오프셋이 트랜잭션 마커이거나 컴팩션으로 비어 있으면 레코드로는 끝을 알 수 없으므로 위치로 확인
+    private void finishReached(Consumer<String, CouponIssuedEvent> consumer, Map<TopicPartition, long[]> remaining) {
+        List<TopicPartition> reached = new ArrayList<>();
+        remaining.forEach((partition, range) -> {
+            if (consumer.position(partition) >= range[1]) {
+                reached.add(partition);
+            }
+        });
+        if (!reached.isEmpty()) {
+            reached.forEach(remaining::remove);
+            consumer.pause(reached);
+        }
+    }
+
+    private void flush(ReplayJob job, List<CouponIssuedEvent> buffer) {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        try {
+            record(job, buffer.size(), couponIssueService.handleCouponIssuedBatch(buffer));
+        } catch (Exception e) {  //묶음 저장 실패 시 레코드 단위로 저장
+            for (CouponIssuedEvent event : buffer) {
+                try {
+                    couponIssueService.handleCouponIssued(event);
+                    record(job, 1, -1);
+                } catch (Exception recordFailure) {
+                    couponLogger.error("DLQ 레코드 재처리 실패 - 사용자: {}, 쿠폰: {}",
+                            event.getEmail(), event.getCouponId(), recordFailure);
+                    job.failed.incrementAndGet();
+                    failedCounter.increment();
+                }
+            }
+        }
+        buffer.clear();
+        throttle(job);
+    }
+
+    private void record(ReplayJob job, int size, int inserted) {
+        if (inserted < 0) {  //레코드 단위 저장은 중복 여부를 구분하지 않음
+            job.inserted.addAndGet(size);
+            insertedCounter.increment(size);
+            return;
+        }
+        job.inserted.addAndGet(inserted);
+        job.skipped.addAndGet(size - inserted);
+        insertedCounter.increment(inserted);
+        skippedCounter.increment(size - inserted);
+    }
+
+    private void throttle(ReplayJob job) {  //처리한 레코드 수 기준으로 초당 상한을 넘지 않도록 대기
+        long expectedNanos = job.processed.get() * 1_000_000_000L / job.recordsPerSecond;
+        long elapsedNanos = System.nanoTime() - job.startedNanos;
+        if (expectedNanos > elapsedNanos) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(expectedNanos - elapsedNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                job.cancelled = true;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ReplayJob job = current.get();
+        if (job != null) {
+            job.cancelled = true;
+        }
+        executor.shutdown();
+    }
+
+    private static class ReplayJob {
+
+        private final int recordsPerSecond;
+        private final long startedNanos = System.nanoTime();
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicLong target = new AtomicLong();
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong inserted = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private volatile boolean cancelled;
+        private volatile String state = DlqReplayStatus.RUNNING;
+        private volatile LocalDateTime finishedAt;
+        private volatile long finishedNanos;
+
+        private ReplayJob(int recordsPerSecond) {
+            this.recordsPerSecond = recordsPerSecond;
+        }
+
+        private boolean isRunning() {
+            return DlqReplayStatus.RUNNING.equals(state);
+        }
+
+        private void finish(String state) {
+            this.finishedNanos = System.nanoTime();
+            this.finishedAt = LocalDateTime.now();
+            this.state = state;
+        }
+
+        private DlqReplayStatus toStatus() {
+            long end = isRunning() ? System.nanoTime() : finishedNanos;
+            double seconds = Math.max(end - startedNanos, 1) / 1_000_000_000.0;
+            return DlqReplayStatus.builder()
+                    .state(state)
+                    .target(target.get())
+                    .processed(processed.get())
+                    .inserted(inserted.get())
+                    .skipped(skipped.get())
+                    .failed(failed.get())
+                    .recordsPerSecond(processed.get() / seconds)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
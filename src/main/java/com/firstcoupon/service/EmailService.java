@@ -57,8 +57,13 @@ public class EmailService {
             backoff = @Backoff(delay = 2000)
     )
     public void sendCouponUsedEmail(String email, String couponName) {
+        couponLogger.info("쿠폰 사용 알림 이메일 전송 요청 - 이메일: {}", email);
+        mailSender.send(createCouponUsedMessage(email, couponName));
+        couponLogger.info("쿠폰 사용 알림 이메일 전송 성공 - 이메일: {}", email);
+    }
+
+    public MimeMessage createCouponUsedMessage(String email, String couponName) {
         try {
-            couponLogger.info("쿠폰 사용 알림 이메일 전송 요청 - 이메일: {}", email);
             MimeMessage message = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
 
@@ -70,9 +75,7 @@ public class EmailService {
                     couponName
             );
             helper.setText(emailContent, true);
-
-            mailSender.send(message);
-            couponLogger.info("쿠폰 사용 알림 이메일 전송 성공 - 이메일: {}", email);
+            return message;
         } catch (MessagingException e) {
             throw new EmailSendFailure();
         }
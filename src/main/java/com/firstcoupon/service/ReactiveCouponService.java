@@ -0,0 +1,131 @@
+package com.firstcoupon.service;
+
+import com.firstcoupon.cache.CouponMetadata;
+import com.firstcoupon.cache.CouponMetadataCache;
+import com.firstcoupon.config.redis.CoalescingProperties;
+import com.firstcoupon.config.redis.LeasingProperties;
+import com.firstcoupon.domain.StockStrategy;
+import com.firstcoupon.dto.CouponIssue;
+import com.firstcoupon.exception.CouponAlreadyIssued;
+import com.firstcoupon.exception.CouponError;
+import com.firstcoupon.exception.CouponSoldOut;
+import com.firstcoupon.exception.CouponStockNotReady;
+import com.firstcoupon.kafka.CouponProducer;
+import com.firstcoupon.redis.CouponIssueDispatcher;
+import com.firstcoupon.redis.CouponIssueScripts;
+import com.firstcoupon.redis.CouponSoldOutRegistry;
+import com.firstcoupon.redis.CouponStockLeaser;
+import com.firstcoupon.redis.CouponStockReleaser;
+import com.firstcoupon.redis.CouponTokenPool;
+import com.firstcoupon.redis.ShardedStockCounter;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/*
+    논블로킹 쿠폰 발급
+    issueCouponWithKafka와 같은 재고 전략(토큰 풀, 샤드 카운터, 재고 임대, 요청 묶음)으로 중복/재고를 검증하고,
+    브로커 응답까지 스레드를 점유하지 않는다. 블로킹 구현을 재사용하는 단계는 boundedElastic에서 실행한다.
+ */
+@Slf4j
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveCouponService {
+
+    private final ReactiveStringRedisTemplate reactiveRedisTemplate;
+    private final CouponMetadataCache couponMetadataCache;
+    private final CouponSoldOutRegistry couponSoldOutRegistry;
+    private final ShardedStockCounter shardedStockCounter;
+    private final CouponStockReleaser couponStockReleaser;
+    private final CouponProducer couponProducer;
+    private final CouponIssueDispatcher couponIssueDispatcher;
+    private final CouponStockLeaser couponStockLeaser;
+    private final CoalescingProperties coalescingProperties;
+    private final LeasingProperties leasingProperties;
+
+    public Mono<Void> issueCoupon(CouponIssue request) {
+        String code = request.getCode();
+        if (couponSoldOutRegistry.isSoldOut(code)) {  //소진된 쿠폰은 Redis 조회 없이 거절
+            return Mono.error(new CouponSoldOut());
+        }
+
+        String userKey = CouponService.COUPON_USER_KEY_PREFIX + code + ":" + request.getEmail();
+        String countKey = CouponService.COUPON_COUNT_KEY_PREFIX + code;
+
+        return Mono.fromCallable(() -> couponMetadataCache.get(code))  //캐시 미스 시 DB 조회가 발생하므로 별도 스케줄러에서 실행
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(coupon -> reserve(coupon, request.getEmail(), userKey, countKey)
+                        .flatMap(serial -> publish(coupon, request.getEmail(), userKey, countKey, serial)));
+    }
+
+    private Mono<Optional<String>> reserve(CouponMetadata coupon, String email, String userKey, String countKey) {
+        if (coupon.getStockStrategy() == StockStrategy.TOKEN_POOL) {  //미리 생성된 토큰을 꺼내 발급
+            return reactiveRedisTemplate.execute(CouponIssueScripts.TOKEN_ISSUE,
+                            CouponTokenPool.issueKeys(coupon.getCode(), userKey),
+                            List.of(String.valueOf(coupon.getDuration())))
+                    .next()
+                    .flatMap(token -> verify(coupon, CouponTokenPool.toResult(token))
+                            .thenReturn(Optional.of(token)));
+        }
+
+        return execute(coupon, email, userKey, countKey)
+                .flatMap(value -> verify(coupon, value))
+                .thenReturn(Optional.empty());
+    }
+
+    private Mono<Long> execute(CouponMetadata coupon, String email, String userKey, String countKey) {
+        if (coupon.getStockStrategy() == StockStrategy.SHARDED_COUNTER) {  //샤드 순회는 블로킹 구현을 재사용
+            return Mono.fromCallable(() -> shardedStockCounter.issue(coupon, email, userKey, countKey))
+                    .subscribeOn(Schedulers.boundedElastic());
+        }
+        if (leasingProperties.isEnabled()) {  //임대 재고는 로컬 차감, 임대 갱신 시에만 Redis 왕복
+            return Mono.fromCallable(() -> couponStockLeaser.issue(coupon, userKey, countKey))
+                    .subscribeOn(Schedulers.boundedElastic());
+        }
+        if (coalescingProperties.isEnabled()) {  //동시 요청을 묶어서 한 번의 왕복으로 처리, 완료까지 스레드 점유 없음
+            return Mono.fromFuture(() -> couponIssueDispatcher.submit(coupon, userKey, countKey))
+                    .onErrorMap(e -> {
+                        log.error("묶음 발급 처리 중 오류가 발생했습니다.", e);
+                        return new CouponError();
+                    });
+        }
+        return reactiveRedisTemplate.execute(CouponIssueScripts.ISSUE, List.of(userKey, countKey),
+                        List.of(String.valueOf(coupon.getTotalQuantity()), String.valueOf(coupon.getDuration())))
+                .next();
+    }
+
+    private Mono<Void> verify(CouponMetadata coupon, long result) {
+        if (result == -1) {  //이미 발급받은 사용자일 경우
+            return Mono.error(new CouponAlreadyIssued());
+        } else if (result == -2) {  //토큰 풀 적재 전, 소진으로 전파하지 않음
+            return Mono.error(new CouponStockNotReady());
+        } else if (result == CouponStockLeaser.LOCAL_EXHAUSTED) {  //다른 노드가 임대 재고를 보유 중이므로 소진 전파 안 함
+            return Mono.error(new CouponSoldOut());
+        } else if (result == 0) {  //재고가 없을 경우 다른 노드에 소진 전파
+            return Mono.fromRunnable(() -> couponSoldOutRegistry.markSoldOut(coupon.getCode()))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .then(Mono.error(new CouponSoldOut()));
+        }
+        return Mono.empty();
+    }
+
+    private Mono<Void> publish(CouponMetadata coupon, String email, String userKey, String countKey,
+                               Optional<String> serial) {
+        return Mono.fromFuture(() -> couponProducer.send(email, coupon.getId(), serial.orElse(null)))
+                .subscribeOn(Schedulers.boundedElastic())  //메타데이터 대기, 버퍼 포화 시 send가 max.block.ms까지 블로킹
+                .then()
+                .onErrorResume(e -> {  //브로커에 기록되지 않은 발급은 Redis 예약을 되돌림
+                    log.error("쿠폰 발급 이벤트 전송 실패 - 코드: {}", coupon.getCode(), e);
+                    return Mono.fromRunnable(() -> couponStockReleaser.release(coupon, userKey, countKey))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .then(Mono.error(new CouponError()));
+                });
+    }
+}
@@ -0,0 +1,109 @@
+package com.firstcoupon.utils;
+
+import java.time.Instant;
+
+/*
+    시간 순으로 정렬되는 64비트 ID 생성기
+    [41비트 epoch 이후 밀리초][10비트 노드][12비트 시퀀스]
+    노드 번호는 COUPON_NODE_ID 환경 변수(또는 coupon.node-id 시스템 프로퍼티)로 지정하고,
+    없으면 SnowflakeNodeLease가 Redis에서 겹치지 않는 번호를 임대해 할당한다.
+    번호가 할당되기 전에는 ID를 만들지 않는다(해시 등으로 추정한 번호는 인스턴스 간 충돌할 수 있음).
+    임대한 번호는 연장이 확인된 유효 기한까지만 사용하고, 기한이 지나면 다른 노드가 같은 번호를 가져갈 수 있으므로
+    연장되거나 새 번호를 받을 때까지 ID 생성을 거부한다.
+ */
+public class Snowflake {
+
+    private static final long EPOCH = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    public static final int NODE_COUNT = 1 << NODE_BITS;
+    private static final long MAX_NODE = NODE_COUNT - 1;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+    private static final Long CONFIGURED_NODE_ID = configuredNodeId();
+
+    private static volatile Snowflake instance = CONFIGURED_NODE_ID == null ? null : new Snowflake(CONFIGURED_NODE_ID);
+    private static volatile boolean leased;  //임대 번호 사용 중이면 유효 기한 확인
+    private static volatile long leaseDeadlineNanos;
+
+    private final long nodeId;
+    private long lastTimestamp = -1L;
+    private long sequence;
+
+    public Snowflake(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE) {
+            throw new IllegalArgumentException("노드 번호는 0 ~ " + MAX_NODE + " 범위여야 합니다: " + nodeId);
+        }
+        this.nodeId = nodeId;
+    }
+
+    public static long generate() {
+        Snowflake current = instance;
+        if (current == null) {
+            throw new IllegalStateException("Snowflake 노드 번호가 할당되지 않았습니다");
+        }
+        if (leased && System.nanoTime() - leaseDeadlineNanos >= 0) {
+            throw new IllegalStateException("Snowflake 노드 번호 임대가 만료되었습니다 - 번호: " + current.nodeId);
+        }
+        return current.nextId();
+    }
+
+    public static boolean isConfigured() {
+        return CONFIGURED_NODE_ID != null;
+    }
+
+    //임대한 노드 번호로 교체, 교체 전 마지막 시각을 이어받아 같은 밀리초에 이전 번호와 섞이지 않게 함
+    public static synchronized void assignNode(long nodeId, long deadlineNanos) {
+        Snowflake next = new Snowflake(nodeId);
+        Snowflake previous = instance;
+        if (previous != null) {
+            synchronized (previous) {
+                next.lastTimestamp = previous.lastTimestamp;
+                next.sequence = previous.sequence;
+            }
+        }
+        leaseDeadlineNanos = deadlineNanos;
+        leased = true;
+        instance = next;
+    }
+
+    public static void extendLease(long deadlineNanos) {  //연장이 확인된 경우에만 호출
+        leaseDeadlineNanos = deadlineNanos;
+    }
+
+    public synchronized long nextId() {
+        long timestamp = System.currentTimeMillis();
+        if (timestamp < lastTimestamp) {  //시계가 뒤로 간 경우 마지막 시각을 계속 사용
+            timestamp = lastTimestamp;
+        }
+
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & MAX_SEQUENCE;
+            if (sequence == 0) {  //같은 밀리초의 시퀀스를 모두 사용하면 다음 밀리초까지 대기
+                timestamp = waitNextMillis(lastTimestamp);
+            }
+        } else {
+            sequence = 0;
+        }
+
+        lastTimestamp = timestamp;
+        return ((timestamp - EPOCH) << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    private long waitNextMillis(long last) {
+        long timestamp = System.currentTimeMillis();
+        while (timestamp <= last) {
+            Thread.onSpinWait();
+            timestamp = System.currentTimeMillis();
+        }
+        return timestamp;
+    }
+
+    private static Long configuredNodeId() {
+        String configured = System.getProperty("coupon.node-id", System.getenv("COUPON_NODE_ID"));
+        if (configured == null || configured.isBlank()) {
+            return null;
+        }
+        return Long.parseLong(configured.trim());
+    }
+}
@@ -0,0 +1,91 @@
+package com.firstcoupon.benchmark;
+
+import com.firstcoupon.domain.Coupon;
+import com.firstcoupon.repository.CouponRepository;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+/*
+    플랫폼 스레드와 가상 스레드의 발급 처리량/p99 비교
+    ./gradlew benchmark                                  (플랫폼 스레드)
+    ./gradlew benchmark -PjavaVersion=21 -PvirtualThreads (가상 스레드)
+ */
+@Slf4j
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class IssueThroughputBenchmark {
+
+    private static final int CLIENTS = 500;
+    private static final int REQUESTS = 20_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Test
+    void 발급_API_처리량과_p99를_측정한다() throws Exception {
+        // given
+        Coupon coupon = Coupon.create("벤치마크 쿠폰" + System.nanoTime(), REQUESTS, LocalDate.now().plusDays(7),
+                LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1));
+        couponRepository.save(coupon);
+
+        HttpClient client = HttpClient.newHttpClient();
+        ExecutorService executorService = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch latch = new CountDownLatch(REQUESTS);
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>(REQUESTS));
+
+        // when
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            String body = "{\"code\":\"" + coupon.getCode() + "\",\"email\":\"bench" + i + "@test.com\"}";
+            executorService.execute(() -> {
+                long requestStart = System.nanoTime();
+                try {
+                    client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/coupon/issue"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build(), HttpResponse.BodyHandlers.discarding());
+                } catch (Exception ignored) {
+                }
+                latencies.add(System.nanoTime() - requestStart);
+                latch.countDown();
+            });
+        }
+        latch.await();
+        long elapsed = System.nanoTime() - start;
+        executorService.shutdown();
+
+        // then
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        double throughput = REQUESTS / (elapsed / 1_000_000_000.0);
+        double p99 = sorted.get((int) (sorted.size() * 0.99) - 1) / 1_000_000.0;
+        log.info("[benchmark] threads={}, requests={}, throughput={} req/s, p99={} ms",
+                virtualThreads ? "virtual" : "platform", REQUESTS, String.format("%.1f", throughput),
+                String.format("%.2f", p99));
+    }
+}
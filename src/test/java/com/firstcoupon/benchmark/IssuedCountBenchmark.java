@@ -0,0 +1,105 @@
+package com.firstcoupon.benchmark;
+
+import com.firstcoupon.domain.Coupon;
+import com.firstcoupon.dto.CouponIssue;
+import com.firstcoupon.repository.CouponIssueCountRepository;
+import com.firstcoupon.repository.CouponRepository;
+import com.firstcoupon.repository.IssuedCouponRepository;
+import com.firstcoupon.service.CouponService;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/*
+    발급 수량 확인 비용 비교: issued_coupon COUNT(*) vs coupon_issue_count 단건 조회
+    ./gradlew benchmark -PbenchmarkRows=10000,1000000,10000000
+ */
+@Slf4j
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest
+class IssuedCountBenchmark {
+
+    private static final int LOOKUPS = 200;
+    private static final int ISSUES = 1_000;
+
+    @Value("${benchmark.rows:10000,1000000,10000000}")
+    private String rows;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CouponService couponService;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private IssuedCouponRepository issuedCouponRepository;
+
+    @Autowired
+    private CouponIssueCountRepository couponIssueCountRepository;
+
+    @Test
+    void 기존_발급_건수별로_발급_수량_확인_비용을_측정한다() {
+        for (long existing : Arrays.stream(rows.split(",")).map(String::trim).mapToLong(Long::parseLong).toArray()) {
+            // given
+            Coupon seeded = saveCoupon((int) Math.min(existing, Integer.MAX_VALUE));
+            seed(seeded.getId(), existing);
+            Coupon coupon = saveCoupon(ISSUES);
+
+            // when
+            long countStart = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                issuedCouponRepository.count();
+            }
+            long countElapsed = System.nanoTime() - countStart;
+
+            long lookupStart = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                couponIssueCountRepository.getIssuedCount(coupon.getId());
+            }
+            long lookupElapsed = System.nanoTime() - lookupStart;
+
+            long issueStart = System.nanoTime();
+            for (int i = 0; i < ISSUES; i++) {
+                couponService.issueCoupon(new CouponIssue(coupon.getCode(), "bench" + i + "@test.com"));
+            }
+            long issueElapsed = System.nanoTime() - issueStart;
+
+            // then
+            log.info("[rows={}] COUNT(*) {}us/op, 카운트 조회 {}us/op, 발급 {}us/op (발급 수량 {})",
+                    existing,
+                    countElapsed / LOOKUPS / 1_000,
+                    lookupElapsed / LOOKUPS / 1_000,
+                    issueElapsed / ISSUES / 1_000,
+                    couponIssueCountRepository.getIssuedCount(coupon.getId()));
+
+            jdbcTemplate.update("DELETE FROM issued_coupon");
+            jdbcTemplate.update("DELETE FROM coupon_issue_count");
+        }
+    }
+
+    private Coupon saveCoupon(int totalQuantity) {
+        Coupon coupon = Coupon.create("카운트 벤치마크" + System.nanoTime(), totalQuantity, LocalDate.now().plusDays(7),
+                LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1));
+        return couponRepository.save(coupon);
+    }
+
+    //H2 SYSTEM_RANGE로 기존 발급 데이터를 한 번에 생성(음수 ID를 사용해 Snowflake ID와 겹치지 않음)
+    private void seed(Long couponId, long count) {
+        jdbcTemplate.update("INSERT INTO issued_coupon (id, coupon_id, email, status, issued_at) "
+                + "SELECT -X, ?, CONCAT('seed', X, '@test.com'), 'ISSUED', CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, ?)",
+                couponId, count);
+        jdbcTemplate.update("INSERT INTO coupon_issue_count (coupon_id, issued_count) VALUES (?, ?)", couponId, count);
+    }
+}
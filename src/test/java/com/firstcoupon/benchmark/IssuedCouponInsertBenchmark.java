@@ -0,0 +1,84 @@
+package com.firstcoupon.benchmark;
+
+import com.firstcoupon.domain.Coupon;
+import com.firstcoupon.domain.IssuedCoupon;
+import com.firstcoupon.repository.CouponRepository;
+import com.firstcoupon.repository.IssuedCouponRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/*
+    발급 쿠폰 INSERT 처리량 비교
+    배치 크기 1은 IDENTITY 전략과 같이 행마다 DB 왕복이 발생하는 경우(변경 전),
+    기본 배치 크기는 Snowflake ID로 JDBC 배치가 적용되는 경우(변경 후)를 측정한다.
+    ./gradlew benchmark
+ */
+@Slf4j
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest
+class IssuedCouponInsertBenchmark {
+
+    private static final int ROWS = 50_000;
+    private static final int FLUSH_SIZE = 1_000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private IssuedCouponRepository issuedCouponRepository;
+
+    @Test
+    void 배치_적용_전후_INSERT_처리량을_측정한다() {
+        // given
+        Coupon coupon = Coupon.create("INSERT 벤치마크" + System.nanoTime(), ROWS, LocalDate.now().plusDays(7),
+                LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1));
+        couponRepository.save(coupon);
+
+        // when
+        long unbatched = insert(coupon, "unbatched", 1);
+        long batched = insert(coupon, "batched", null);
+
+        // then
+        log.info("[INSERT {}건] 행 단위: {} rows/s, 배치: {} rows/s",
+                ROWS, ROWS * 1_000_000_000L / unbatched, ROWS * 1_000_000_000L / batched);
+        issuedCouponRepository.deleteAllInBatch();
+    }
+
+    private long insert(Coupon coupon, String prefix, Integer jdbcBatchSize) {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            session.setJdbcBatchSize(jdbcBatchSize);  //null이면 hibernate.jdbc.batch_size 사용
+            Coupon managed = entityManager.getReference(Coupon.class, coupon.getId());
+            for (int i = 0; i < ROWS; i++) {
+                entityManager.persist(IssuedCoupon.builder()
+                        .email(prefix + i + "@test.com")
+                        .coupon(managed)
+                        .build());
+                if ((i + 1) % FLUSH_SIZE == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                    managed = entityManager.getReference(Coupon.class, coupon.getId());
+                }
+            }
+        });
+        return System.nanoTime() - start;
+    }
+}
@@ -8,6 +8,7 @@ import com.firstcoupon.domain.IssuedCoupon;
 import com.firstcoupon.exception.CouponNotFound;
 import com.firstcoupon.repository.CouponRepository;
 import com.firstcoupon.repository.IssuedCouponRepository;
+import com.firstcoupon.utils.Snowflake;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import java.sql.Connection;
@@ -111,14 +112,15 @@ public class CouponTestConsumer {
 
     public void saveUserCoupon(Connection connection, List<IssuedCoupon> issuedCoupons) {
         try (PreparedStatement statement = connection.prepareStatement(
-                "INSERT INTO issued_coupon (coupon_id, email, issued_at, status, used_at) VALUES (?, ?, ?, ?, ?)"
+                "INSERT INTO issued_coupon (id, coupon_id, email, issued_at, status, used_at) VALUES (?, ?, ?, ?, ?, ?)"
         )) {
             for (IssuedCoupon issuedCoupon : issuedCoupons) {
-                statement.setLong(1, issuedCoupon.getCoupon().getId());
-                statement.setString(2, issuedCoupon.getEmail());
-                statement.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
-                statement.setString(4, CouponStatus.ISSUED.toString());
-                statement.setTimestamp(5, null);
+                statement.setLong(1, Snowflake.generate());
+                statement.setLong(2, issuedCoupon.getCoupon().getId());
+                statement.setString(3, issuedCoupon.getEmail());
+                statement.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+                statement.setString(5, CouponStatus.ISSUED.toString());
+                statement.setTimestamp(6, null);
                 statement.addBatch();
             }
             statement.executeBatch();
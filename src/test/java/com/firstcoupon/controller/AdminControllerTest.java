@@ -89,4 +89,15 @@ class AdminControllerTest {
                 .andDo(print());
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void DLQ_재처리는_시간_범위나_오프셋_범위_중_하나가_필요하다() throws Exception {
+        //expected
+        mockMvc.perform(post("/api/admin/dlq/replay")
+                        .contentType(APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("INVALID_REPLAY_RANGE"))
+                .andDo(print());
+    }
+}
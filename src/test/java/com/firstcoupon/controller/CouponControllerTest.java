@@ -2,9 +2,11 @@ package com.firstcoupon.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -25,6 +27,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 @SpringBootTest
@@ -85,6 +88,26 @@ class CouponControllerTest {
         assertNull(issuedCoupon.getUsedAt());
     }
 
+    @Test
+    void 브로커_응답_이후에_비동기_쿠폰_발급이_완료된다() throws Exception {
+        //given
+        String email = "async@test.com";
+        CouponIssue couponIssue = new CouponIssue(code, email);
+        String json = objectMapper.writeValueAsString(couponIssue);
+
+        //when
+        MvcResult result = mockMvc.perform(post("/api/coupon/issue/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andDo(print());
+    }
+
     @Test
     @Transactional
     void 발급받은_쿠폰을_사용한다() throws Exception {
@@ -96,7 +119,8 @@ class CouponControllerTest {
 
         //when
         mockMvc.perform(post("/api/coupon/use")
-                        .param("email", email))
+                        .param("email", email)
+                        .param("code", code))
                 .andExpect(status().isOk())
                 .andDo(print());
 
@@ -113,12 +137,14 @@ class CouponControllerTest {
         issuedCouponRepository.save(issuedCoupon);
 
         mockMvc.perform(post("/api/coupon/use")
-                        .param("email", email))
+                        .param("email", email)
+                        .param("code", code))
                 .andExpect(status().isOk());
 
         //expected
         mockMvc.perform(post("/api/coupon/use")
-                        .param("email", email))
+                        .param("email", email)
+                        .param("code", code))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.code").value("COUPON_ALREADY_USED"))
                 .andExpect(jsonPath("$.message").value("이미 사용한 쿠폰입니다."))
@@ -0,0 +1,113 @@
+package com.firstcoupon.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.firstcoupon.config.datasource.DataSourceRoutingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate replicaJdbcTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate readWriteTransaction;
+    private ReplicaRoutingDataSource routingDataSource;
+    private ReplicaHealthMonitor healthMonitor;
+
+    @BeforeEach
+    void setUp() {
+        //프라이머리/레플리카 역할의 H2 DB 두 개, 각 DB에 자신의 이름을 기록
+        DataSource primary = h2("primary");
+        DataSource replica = h2("replica");
+        replicaJdbcTemplate = new JdbcTemplate(replica);
+        replicaJdbcTemplate.execute("CREATE TABLE replica_lag (seconds DOUBLE)");
+        replicaJdbcTemplate.update("INSERT INTO replica_lag VALUES (0)");
+
+        routingDataSource = new ReplicaRoutingDataSource(primary, Map.of("replica-1", replica));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+
+        DataSourceRoutingProperties properties = new DataSourceRoutingProperties();
+        properties.setMaxLagMs(1000);
+        properties.setLagQuery("SELECT seconds FROM replica_lag");
+        healthMonitor = new ReplicaHealthMonitor(routingDataSource, properties, new SimpleMeterRegistry());
+        healthMonitor.checkReplicas();
+    }
+
+    @Test
+    void 읽기_전용_트랜잭션은_레플리카로_쓰기_트랜잭션은_프라이머리로_보낸다() {
+        //when
+        String readOnly = readOnlyTransaction.execute(status -> node());
+        String readWrite = readWriteTransaction.execute(status -> node());
+
+        //then
+        assertEquals("replica", readOnly);
+        assertEquals("primary", readWrite);
+    }
+
+    @Test
+    void 복제_지연이_허용치를_넘으면_읽기를_프라이머리로_보낸다() {
+        //given
+        replicaJdbcTemplate.update("UPDATE replica_lag SET seconds = 5");
+
+        //when
+        healthMonitor.checkReplicas();
+        String readOnly = readOnlyTransaction.execute(status -> node());
+
+        //then
+        assertEquals("primary", readOnly);
+        assertEquals("DEGRADED", healthMonitor.health().getStatus().getCode());
+    }
+
+    @Test
+    void 레플리카_확인에_실패하면_읽기를_프라이머리로_보낸다() {
+        //given
+        replicaJdbcTemplate.execute("DROP TABLE replica_lag");
+
+        //when
+        healthMonitor.checkReplicas();
+        String readOnly = readOnlyTransaction.execute(status -> node());
+
+        //then
+        assertEquals("primary", readOnly);
+    }
+
+    @Test
+    void 쓰기_직후_읽기는_프라이머리로_지정할_수_있다() {
+        //when
+        String readAfterWrite = DataSourceRoute.onPrimary(() -> readOnlyTransaction.execute(status -> node()));
+        String batchRead = new JdbcTemplate(routingDataSource.replicaView())
+                .queryForObject("SELECT name FROM node", String.class);
+
+        //then
+        assertEquals("primary", readAfterWrite);
+        assertEquals("replica", batchRead);
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private DataSource h2(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing_" + name + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE node (name VARCHAR(20))");
+        template.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,76 @@
+package com.firstcoupon.kafka;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.firstcoupon.domain.CouponIssuedEvent;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CouponProducerPartitionTest {
+
+    private static final int EVENT_COUNT = 300;
+
+    @Autowired
+    private CouponProducer couponProducer;
+
+    @Autowired
+    private ConsumerFactory<String, CouponIssuedEvent> issuedConsumerFactory;
+
+    @Test
+    void 단일_쿠폰_발급_이벤트가_모든_파티션에_분산되고_사용자별로는_한_파티션에_모인다() throws InterruptedException {
+        //given
+        long couponId = System.nanoTime();  //이전 테스트 이벤트와 구분
+        CountDownLatch latch = new CountDownLatch(EVENT_COUNT * 2);
+        Set<Integer> partitions = ConcurrentHashMap.newKeySet();
+        Set<String> consumerThreads = ConcurrentHashMap.newKeySet();
+        Map<String, Set<Integer>> partitionsByEmail = new ConcurrentHashMap<>();
+
+        ContainerProperties containerProperties = new ContainerProperties("coupon-issued");
+        containerProperties.setGroupId("partition-spread-" + UUID.randomUUID());
+        containerProperties.setMessageListener((MessageListener<String, CouponIssuedEvent>) record -> {
+            if (record.value().getCouponId() != couponId) {
+                return;
+            }
+            partitions.add(record.partition());
+            consumerThreads.add(Thread.currentThread().getName());
+            partitionsByEmail.computeIfAbsent(record.value().getEmail(), email -> ConcurrentHashMap.newKeySet())
+                    .add(record.partition());
+            latch.countDown();
+        });
+        ConcurrentMessageListenerContainer<String, CouponIssuedEvent> container =
+                new ConcurrentMessageListenerContainer<>(issuedConsumerFactory, containerProperties);
+        container.setConcurrency(3);
+        container.start();
+
+        //when
+        try {
+            for (int i = 0; i < EVENT_COUNT; i++) {  //사용자별로 두 번씩 전송
+                couponProducer.send("user" + i + "@test.com", couponId);
+                couponProducer.send("user" + i + "@test.com", couponId);
+            }
+            assertTrue(latch.await(30, TimeUnit.SECONDS));
+        } finally {
+            container.stop();
+        }
+
+        //then
+        assertEquals(3, partitions.size());  //세 파티션 모두 사용
+        assertEquals(3, consumerThreads.size());  //세 리스너 스레드 모두 처리
+        partitionsByEmail.values().forEach(emailPartitions -> assertEquals(1, emailPartitions.size()));
+    }
+}
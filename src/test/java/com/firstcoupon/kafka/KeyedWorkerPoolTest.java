@@ -0,0 +1,111 @@
+package com.firstcoupon.kafka;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class KeyedWorkerPoolTest {
+
+    private static final int KEYS = 20;
+    private static final int TASKS_PER_KEY = 200;
+
+    @Test
+    void 같은_키의_작업은_제출_순서대로_실행된다() throws InterruptedException {
+        //given
+        KeyedWorkerPool pool = new KeyedWorkerPool("test-worker", 4, 100);
+        Map<String, List<Integer>> executed = new ConcurrentHashMap<>();
+        CountDownLatch latch = new CountDownLatch(KEYS * TASKS_PER_KEY);
+
+        //when
+        try {
+            for (int sequence = 0; sequence < TASKS_PER_KEY; sequence++) {
+                for (int key = 0; key < KEYS; key++) {
+                    String email = "user" + key + "@test.com";
+                    int current = sequence;
+                    pool.submit(email, () -> {
+                        executed.computeIfAbsent(email, k -> new ArrayList<>()).add(current);  //키별로 한 워커만 접근
+                        latch.countDown();
+                    });
+                }
+            }
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdown(5, TimeUnit.SECONDS);
+        }
+
+        //then
+        List<Integer> expected = IntStream.range(0, TASKS_PER_KEY).boxed().toList();
+        assertEquals(KEYS, executed.size());
+        executed.values().forEach(sequences -> assertEquals(expected, sequences));
+    }
+
+    @Test
+    void 워커_큐가_가득_차면_대기하지_않고_false를_반환하고_비워지면_알린다() throws InterruptedException {
+        //given
+        KeyedWorkerPool pool = new KeyedWorkerPool("test-worker", 1, 4);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch drained = new CountDownLatch(1);
+        List<Boolean> accepted = new ArrayList<>();
+
+        //when
+        try {
+            pool.submit("key", () -> {  //워커를 붙잡아 큐가 쌓이도록 함
+                started.countDown();
+                await(release);
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 5; i++) {
+                accepted.add(pool.submit("key", () -> {
+                }));
+            }
+            pool.notifyWhenDrained(drained::countDown);
+
+            //then
+            assertEquals(List.of(true, true, true, false, false), accepted);
+            assertEquals(1, drained.getCount());  //큐가 줄기 전에는 알리지 않음
+
+            release.countDown();
+            assertTrue(drained.await(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            pool.shutdown(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void 작업이_실패해도_워커는_다음_작업을_처리한다() throws InterruptedException {
+        //given
+        KeyedWorkerPool pool = new KeyedWorkerPool("test-worker", 1, 10);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        //when
+        try {
+            pool.submit("key", () -> {
+                throw new IllegalStateException("실패");
+            });
+            pool.submit("key", latch::countDown);
+
+            //then
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdown(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
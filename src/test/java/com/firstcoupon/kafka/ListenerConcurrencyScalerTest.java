@@ -0,0 +1,93 @@
+package com.firstcoupon.kafka;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.firstcoupon.config.kafka.ListenerScalingProperties;
+import com.firstcoupon.config.kafka.ListenerScalingProperties.Bounds;
+import com.firstcoupon.kafka.ListenerConcurrencyScaler.ListenerState;
+import java.time.Duration;
+import java.util.Set;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+class ListenerConcurrencyScalerTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final ListenerScalingProperties properties = new ListenerScalingProperties();
+
+    private Bounds bounds(int min, int max) {
+        Bounds bounds = new Bounds();
+        bounds.setMinConcurrency(min);
+        bounds.setMaxConcurrency(max);
+        return bounds;
+    }
+
+    @Test
+    void 랙을_목표_시간_안에_소진할_동시성을_계산한다() {
+        //컨슈머당 100/s, 목표 30초 -> 컨슈머당 3000건, 랙 15000 -> 5
+        int desired = ListenerConcurrencyScaler.desiredConcurrency(properties, bounds(1, 12), 15_000, 100, 3, 12);
+
+        assertEquals(5, desired);
+    }
+
+    @Test
+    void 동시성은_최대값과_파티션_수를_넘지_않는다() {
+        assertEquals(8, ListenerConcurrencyScaler.desiredConcurrency(properties, bounds(1, 8), 1_000_000, 10, 3, 12));
+        assertEquals(6, ListenerConcurrencyScaler.desiredConcurrency(properties, bounds(1, 12), 1_000_000, 10, 3, 6));
+    }
+
+    @Test
+    void 랙이_작으면_한_단계씩_축소하고_최소값_아래로_내려가지_않는다() {
+        assertEquals(4, ListenerConcurrencyScaler.desiredConcurrency(properties, bounds(2, 12), 10, 100, 5, 12));
+        assertEquals(2, ListenerConcurrencyScaler.desiredConcurrency(properties, bounds(2, 12), 10, 100, 2, 12));
+    }
+
+    @Test
+    void 처리량을_모르면_한_단계씩_확대한다() {
+        assertEquals(4, ListenerConcurrencyScaler.desiredConcurrency(properties, bounds(1, 12), 50_000, 0, 3, 12));
+    }
+
+    @Test
+    void 컨슈머당_처리량은_커밋_오프셋_증가량으로_계산한다() {
+        ListenerState state = new ListenerState(3, 0);
+
+        //첫 샘플은 기준값만 기록하고 처리 시간으로 추정
+        assertEquals(50, state.perConsumerRate(1_000, 3, 0.02, SECOND), 0.001);
+        //10초 동안 3000건 커밋, 컨슈머 3개 -> 컨슈머당 100/s
+        assertEquals(100, state.perConsumerRate(4_000, 3, 0.02, 11 * SECOND), 0.001);
+        //증가가 없고 처리 시간 기록도 없으면 0
+        assertEquals(0, state.perConsumerRate(4_000, 3, 0, 21 * SECOND), 0.001);
+    }
+
+    @Test
+    void 동시성_변경_후_cooldown_동안은_다시_변경하지_않는다() {
+        ListenerState state = new ListenerState(3, 0);
+        Duration cooldown = Duration.ofSeconds(30);
+
+        assertFalse(state.inCooldown(5 * SECOND, cooldown));  //변경 이력이 없으면 바로 변경 가능
+
+        state.changed(10 * SECOND);
+        state.restarted();
+        assertTrue(state.inCooldown(60 * SECOND, cooldown));  //파티션을 다시 할당받기 전에는 변경하지 않음
+
+        state.assigned(Set.of(new TopicPartition("coupon-issued", 0)), 12 * SECOND);  //리밸런싱 2초
+        assertTrue(state.inCooldown(41 * SECOND, cooldown));
+        assertFalse(state.inCooldown(42 * SECOND, cooldown));
+    }
+
+    @Test
+    void 리밸런싱이_cooldown보다_길면_리밸런싱_시간의_2배_동안_변경하지_않는다() {
+        ListenerState state = new ListenerState(3, 0);
+        Duration cooldown = Duration.ofSeconds(30);
+
+        state.changed(0);
+        state.restarted();
+        state.assigned(Set.of(new TopicPartition("coupon-issued", 0)), 25 * SECOND);  //리밸런싱 25초
+
+        assertTrue(state.inCooldown(74 * SECOND, cooldown));
+        assertFalse(state.inCooldown(75 * SECOND, cooldown));
+    }
+}
@@ -0,0 +1,122 @@
+package com.firstcoupon.kafka;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.firstcoupon.domain.CouponIssuedEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.AcknowledgingMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.test.context.ActiveProfiles;
+
+/*
+    parallel 리스너 모드의 커밋 동작 확인
+    CouponIssuedParallelConsumer와 같은 컨테이너 설정(MANUAL + asyncAcks)에서 워커가 순서와 상관없이 ack해도
+    앞선 오프셋이 처리되기 전에는 그 뒤 오프셋이 커밋되지 않아야 한다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ParallelAckCommitTest {
+
+    private static final int RECORD_COUNT = 10;
+    private static final int WORKERS = 4;
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private ConsumerFactory<String, CouponIssuedEvent> issuedConsumerFactory;
+
+    @Test
+    void 앞선_오프셋이_처리되기_전에는_뒤_오프셋이_순서와_상관없이_ack되어도_커밋되지_않는다() throws Exception {
+        //given
+        String topic = "parallel-ack-" + UUID.randomUUID();
+        String groupId = "parallel-ack-" + UUID.randomUUID();
+        TopicPartition partition = new TopicPartition(topic, 0);
+        String slowEmail = "slow@test.com";
+        List<String> emails = new ArrayList<>(List.of(slowEmail));  //첫 레코드만 느린 키
+        for (int i = 0; emails.size() < RECORD_COUNT; i++) {  //느린 키와 다른 워커에 배정되는 키만 사용
+            String email = "user" + i + "@test.com";
+            if (lane(email) != lane(slowEmail)) {
+                emails.add(email);
+            }
+        }
+        for (String email : emails) {
+            kafkaTemplate.send(topic, 0, email, new CouponIssuedEvent(email, 1L)).get(10, TimeUnit.SECONDS);
+        }
+
+        KeyedWorkerPool workerPool = new KeyedWorkerPool("parallel-ack-worker", WORKERS, 100);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch fastAcked = new CountDownLatch(RECORD_COUNT - 1);
+
+        ContainerProperties containerProperties = new ContainerProperties(topic);
+        containerProperties.setGroupId(groupId);
+        containerProperties.setAckMode(ContainerProperties.AckMode.MANUAL);
+        containerProperties.setAsyncAcks(true);
+        containerProperties.setMessageListener(
+                (AcknowledgingMessageListener<String, CouponIssuedEvent>) (record, ack) -> {
+                    workerPool.submit(record.value().getEmail(), () -> {
+                        if (slowEmail.equals(record.value().getEmail())) {
+                            await(release);
+                            ack.acknowledge();
+                            return;
+                        }
+                        ack.acknowledge();
+                        fastAcked.countDown();
+                    });
+                });
+        ConcurrentMessageListenerContainer<String, CouponIssuedEvent> container =
+                new ConcurrentMessageListenerContainer<>(issuedConsumerFactory, containerProperties);
+
+        try (Consumer<String, CouponIssuedEvent> checker =
+                     issuedConsumerFactory.createConsumer(groupId, "-checker")) {
+            //when
+            container.start();
+            assertTrue(fastAcked.await(30, TimeUnit.SECONDS));
+            Thread.sleep(1_000);  //컨테이너가 ack를 반영할 시간
+
+            //then
+            assertEquals(0, committed(checker, partition));  //뒤 오프셋 9개가 ack되어도 0번이 남아 있으면 커밋 안 됨
+
+            release.countDown();
+            Awaitility.await().atMost(10, TimeUnit.SECONDS)
+                    .untilAsserted(() -> assertEquals(RECORD_COUNT, committed(checker, partition)));
+        } finally {
+            release.countDown();
+            container.stop();
+            workerPool.shutdown(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private int lane(String key) {  //KeyedWorkerPool의 워커 배정과 같은 계산
+        return Math.floorMod(key.hashCode(), WORKERS);
+    }
+
+    private long committed(Consumer<String, CouponIssuedEvent> consumer, TopicPartition partition) {
+        OffsetAndMetadata offset = consumer.committed(Set.of(partition)).get(partition);
+        return offset == null ? 0 : offset.offset();
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.firstcoupon.kafka.codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.firstcoupon.domain.CouponIssuedEvent;
+import com.firstcoupon.domain.CouponUsedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+class EventCodecsTest {
+
+    @Test
+    void 바이너리로_직렬화한_이벤트를_그대로_복원한다() {
+        //given
+        CouponIssuedEvent issued = new CouponIssuedEvent("test@test.com", 42L, null);
+        CouponUsedEvent used = new CouponUsedEvent("test@test.com", "테스트 쿠폰");
+
+        //when
+        CouponIssuedEvent decodedIssued = (CouponIssuedEvent) EventCodecs.decode(EventCodecs.encode(issued));
+        CouponUsedEvent decodedUsed = (CouponUsedEvent) EventCodecs.decode(EventCodecs.encode(used));
+
+        //then
+        assertEquals("test@test.com", decodedIssued.getEmail());
+        assertEquals(42L, decodedIssued.getCouponId());
+        assertNull(decodedIssued.getSerial());
+        assertEquals("테스트 쿠폰", decodedUsed.getCouponName());
+    }
+
+    @Test
+    void 바이너리_모드에서도_기존_JSON_메시지를_읽는다() {
+        //given
+        JsonSerializer<CouponIssuedEvent> jsonSerializer = new JsonSerializer<>();
+        jsonSerializer.setAddTypeInfo(false);
+        byte[] json = jsonSerializer.serialize("coupon-issued", new CouponIssuedEvent("json@test.com", 7L));
+        BinaryEventDeserializer<CouponIssuedEvent> deserializer =
+                new BinaryEventDeserializer<>(CouponIssuedEvent.class, new JsonDeserializer<>(CouponIssuedEvent.class, false));
+
+        //when
+        CouponIssuedEvent event = deserializer.deserialize("coupon-issued", json);
+
+        //then
+        assertEquals("json@test.com", event.getEmail());
+        assertEquals(7L, event.getCouponId());
+    }
+}
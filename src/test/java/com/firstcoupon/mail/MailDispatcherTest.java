@@ -0,0 +1,134 @@
+package com.firstcoupon.mail;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.firstcoupon.domain.MailJob;
+import com.firstcoupon.domain.MailStatus;
+import com.firstcoupon.repository.MailJobRepository;
+import com.firstcoupon.service.EmailService;
+import jakarta.mail.Address;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MailDispatcherTest {
+
+    @Autowired
+    private MailDispatcher mailDispatcher;
+
+    @Autowired
+    private MailJobRepository mailJobRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoBean
+    private SmtpTransportPool transportPool;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private Transport transport;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        transport = mock(Transport.class);
+        when(transportPool.borrow()).thenReturn(transport);
+        when(emailService.createCouponUsedMessage(anyString(), anyString()))
+                .thenAnswer(invocation -> message());
+    }
+
+    private MimeMessage message() throws Exception {
+        MimeMessage message = mock(MimeMessage.class);
+        when(message.getAllRecipients()).thenReturn(new Address[0]);
+        return message;
+    }
+
+    private List<MailJob> jobsOf(String prefix) {
+        return mailJobRepository.findAll().stream()
+                .filter(job -> job.getEmail().startsWith(prefix))
+                .toList();
+    }
+
+    @Test
+    void 제출한_메일을_전송하고_전송_완료로_표시한다() {
+        //given
+        String prefix = UUID.randomUUID() + "-";
+
+        //when
+        for (int i = 0; i < 10; i++) {
+            mailDispatcher.submit(prefix + i + "@test.com", "쿠폰");
+        }
+
+        //then
+        Awaitility.await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> {
+            List<MailJob> jobs = jobsOf(prefix);
+            assertEquals(10, jobs.size());
+            jobs.forEach(job -> assertEquals(MailStatus.SENT, job.getStatus()));
+        });
+    }
+
+    @Test
+    void 수신자_오류는_해당_메일만_실패로_남기고_나머지는_전송한다() throws Exception {
+        //given
+        String prefix = UUID.randomUUID() + "-";
+        String rejected = prefix + "rejected@test.com";
+        MimeMessage rejectedMessage = message();
+        when(emailService.createCouponUsedMessage(eq(rejected), anyString())).thenReturn(rejectedMessage);
+        doThrow(new SendFailedException("rejected")).when(transport).sendMessage(eq(rejectedMessage), any());
+
+        //when
+        mailDispatcher.submit(prefix + "ok@test.com", "쿠폰");
+        mailDispatcher.submit(rejected, "쿠폰");
+
+        //then
+        Awaitility.await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> {
+            for (MailJob job : jobsOf(prefix)) {
+                if (job.getEmail().equals(rejected)) {
+                    assertEquals(MailStatus.PENDING, job.getStatus());
+                    assertEquals(1, job.getAttempts());
+                } else {
+                    assertEquals(MailStatus.SENT, job.getStatus());
+                }
+            }
+        });
+    }
+
+    @Test
+    void 최대_시도_횟수만큼_실패하면_실패로_표시한다() {
+        //given
+        MailJob job = mailJobRepository.save(MailJob.couponUsed(UUID.randomUUID() + "@test.com", "쿠폰",
+                LocalDateTime.now().plusMinutes(5)));
+        int maxAttempts = 3;
+
+        //when & then
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            transactionTemplate.executeWithoutResult(status ->
+                    mailJobRepository.markFailed(job.getId(), LocalDateTime.now(), maxAttempts));
+            MailJob failed = mailJobRepository.findById(job.getId()).orElseThrow();
+
+            assertEquals(attempt, failed.getAttempts());
+            assertEquals(attempt < maxAttempts ? MailStatus.PENDING : MailStatus.FAILED, failed.getStatus());
+        }
+    }
+}
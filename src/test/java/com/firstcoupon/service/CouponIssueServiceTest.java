@@ -0,0 +1,79 @@
+package com.firstcoupon.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.firstcoupon.domain.Coupon;
+import com.firstcoupon.domain.CouponIssuedEvent;
+import com.firstcoupon.projection.RemainingQuantityProjector;
+import com.firstcoupon.repository.CouponRepository;
+import com.firstcoupon.repository.IssuedCouponRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CouponIssueServiceTest {
+
+    @Autowired
+    private CouponIssueService couponIssueService;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private IssuedCouponRepository issuedCouponRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RemainingQuantityProjector remainingQuantityProjector;
+
+    @AfterEach
+    void tearDown() {
+        issuedCouponRepository.deleteAll();
+        couponRepository.deleteAll();
+    }
+
+    @Test
+    void 같은_발급_이벤트가_중복_전달되어도_한_번만_저장된다() {
+        //given
+        Coupon coupon = couponRepository.save(Coupon.create("중복 테스트 쿠폰", 100, LocalDate.now().plusDays(7),
+                LocalDateTime.now(), LocalDateTime.now().plusDays(7)));
+        CouponIssuedEvent event = new CouponIssuedEvent("dup@test.com", coupon.getId());
+        double before = meterRegistry.counter("coupon.issued.duplicate").count();
+
+        //when
+        couponIssueService.handleCouponIssued(event);
+        couponIssueService.handleCouponIssued(event);
+        couponIssueService.handleCouponIssuedBatch(List.of(event, new CouponIssuedEvent("new@test.com", coupon.getId())));
+
+        //then
+        assertEquals(2, issuedCouponRepository.countByCouponId(coupon.getId()));
+        assertEquals(before + 2, meterRegistry.counter("coupon.issued.duplicate").count());
+    }
+
+    @Test
+    void 저장된_발급_수가_모아서_잔여_수량에_반영된다() {
+        //given
+        Coupon coupon = couponRepository.save(Coupon.create("잔여 수량 테스트 쿠폰", 100, LocalDate.now().plusDays(7),
+                LocalDateTime.now(), LocalDateTime.now().plusDays(7)));
+        CouponIssuedEvent duplicated = new CouponIssuedEvent("a@test.com", coupon.getId());
+
+        //when
+        couponIssueService.handleCouponIssuedBatch(List.of(duplicated, duplicated,
+                new CouponIssuedEvent("b@test.com", coupon.getId())));
+        couponIssueService.handleCouponIssued(new CouponIssuedEvent("c@test.com", coupon.getId()));
+        remainingQuantityProjector.flush();
+
+        //then
+        assertEquals(97, couponRepository.findById(coupon.getId()).orElseThrow().getRemainingQuantity());
+    }
+}
@@ -1,25 +1,37 @@
 package com.firstcoupon.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.firstcoupon.domain.Coupon;
 import com.firstcoupon.domain.CouponStatus;
 import com.firstcoupon.domain.IssuedCoupon;
+import com.firstcoupon.domain.OutboxEvent;
+import com.firstcoupon.domain.StockStrategy;
 import com.firstcoupon.dto.CouponIssue;
+import com.firstcoupon.dto.IssuedCouponResponse;
 import com.firstcoupon.exception.CouponAlreadyUsed;
+import com.firstcoupon.exception.CouponStockNotReady;
 import com.firstcoupon.exception.NotIssuableTime;
+import com.firstcoupon.redis.CouponSoldOutRegistry;
+import com.firstcoupon.redis.ShardedStockCounter;
 import com.firstcoupon.repository.CouponRepository;
 import com.firstcoupon.repository.IssuedCouponRepository;
+import com.firstcoupon.repository.OutboxEventRepository;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import lombok.extern.slf4j.Slf4j;
 import org.awaitility.Awaitility;
 import org.junit.jupiter.api.AfterEach;
@@ -55,9 +67,15 @@ class CouponServiceTest {
     @Autowired
     private IssuedCouponRepository issuedCouponRepository;
 
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
     @Autowired
     private StringRedisTemplate redisTemplate;
 
+    @Autowired
+    private CouponSoldOutRegistry couponSoldOutRegistry;
+
     @AfterEach
     void tearDown() {
        couponRepository.deleteAll();
@@ -116,13 +134,31 @@ class CouponServiceTest {
         issuedCouponRepository.save(issuedCoupon);
 
         // when
-        couponService.useCoupon(email);
+        couponService.useCoupon(email, coupon.getCode());
 
         // then
         assertEquals(CouponStatus.USED, issuedCoupon.getStatus());
         assertNotNull(issuedCoupon.getUsedAt());
     }
 
+    @Test
+    @Transactional
+    void 쿠폰_사용_이벤트는_사용_처리와_함께_아웃박스에_기록된다() {
+        // given
+        Coupon coupon = getCoupon();
+        String email = "outbox@test.com";
+        issuedCouponRepository.save(IssuedCoupon.issue(email, coupon));
+
+        // when
+        couponService.useCoupon(email, coupon.getCode());
+
+        // then
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        assertEquals(1, events.size());
+        assertEquals("coupon-used", events.get(0).getTopic());
+        assertTrue(events.get(0).getPayload().contains(email));
+    }
+
     @Test
     @Transactional
     void 발급받은_쿠폰을_재사용할_수없다() {
@@ -132,10 +168,50 @@ class CouponServiceTest {
         IssuedCoupon issuedCoupon = IssuedCoupon.issue(email, coupon);
         issuedCouponRepository.save(issuedCoupon);
 
-        couponService.useCoupon(email);
+        couponService.useCoupon(email, coupon.getCode());
 
         //expected
-        assertThrows(CouponAlreadyUsed.class, () -> couponService.useCoupon(email));
+        assertThrows(CouponAlreadyUsed.class, () -> couponService.useCoupon(email, coupon.getCode()));
+    }
+
+    @Test
+    void 한_회원이_여러_쿠폰을_발급받고_쿠폰별로_사용한다() {
+        // given
+        String email = "multi@test.com";
+        Coupon first = getCoupon();
+        Coupon second = Coupon.create(  //getCoupon()의 임의 이름과 겹치지 않도록 이름을 따로 지정
+                first.getCouponName() + " 두번째",
+                100,
+                LocalDate.now().plusDays(7),
+                LocalDateTime.now().minusHours(1),
+                LocalDateTime.now().plusHours(1));
+        couponRepository.save(second);
+        couponService.issueCoupon(new CouponIssue(first.getCode(), email));
+        couponService.issueCoupon(new CouponIssue(second.getCode(), email));
+
+        // when
+        couponService.useCoupon(email, first.getCode());
+
+        // then
+        List<IssuedCouponResponse> myCoupons = couponService.getMyCoupons(email);
+        assertEquals(2, myCoupons.size());
+        assertEquals(CouponStatus.USED, myCoupons.stream()
+                .filter(c -> c.getCode().equals(first.getCode())).findFirst().orElseThrow().getStatus());
+        assertEquals(CouponStatus.ISSUED, myCoupons.stream()
+                .filter(c -> c.getCode().equals(second.getCode())).findFirst().orElseThrow().getStatus());
+    }
+
+    @Test
+    void 토큰_풀이_적재되기_전의_발급은_소진으로_처리하지_않는다() {
+        // given
+        Coupon coupon = Coupon.create("토큰 쿠폰" + System.nanoTime(), 10, LocalDate.now().plusDays(7),
+                LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1), StockStrategy.TOKEN_POOL, 1);
+        couponRepository.save(coupon);
+        CouponIssue couponIssue = new CouponIssue(coupon.getCode(), "token@test.com");
+
+        // expected
+        assertThrows(CouponStockNotReady.class, () -> couponService.issueCouponWithKafka(couponIssue));
+        assertFalse(couponSoldOutRegistry.isSoldOut(coupon.getCode()));
     }
 
     @Test
@@ -304,4 +380,112 @@ class CouponServiceTest {
         // then
         assertEquals(totalQuantity, issuedCouponRepository.count());
     }
-}
\ No newline at end of file
+
+    @Test
+    void 샤딩된_재고_카운터로_동시에_총_발급_수량까지만_발급된다() throws InterruptedException {
+        // given: 총 100개를 4개의 샤드로 분산
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch latch = new CountDownLatch(TOTAL_USERS);
+        int shards = 4;
+        Coupon coupon = Coupon.create("샤딩 쿠폰" + new Random().nextInt(TOTAL_USERS), 100,
+                LocalDate.now().plusDays(7), LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1),
+                StockStrategy.SHARDED_COUNTER, shards);
+        couponRepository.save(coupon);
+        String code = coupon.getCode();
+        int totalQuantity = coupon.getTotalQuantity();
+        AtomicInteger successCount = new AtomicInteger();
+
+        // when
+        for (int i = 1; i <= TOTAL_USERS; i++) {
+            String email = "test" + i + "@shard.com";
+            CouponIssue couponIssue = new CouponIssue(code, email);
+            executorService.execute(() -> {
+                try {
+                    startLatch.await();
+                    couponService.issueCouponWithKafka(couponIssue);
+                    successCount.incrementAndGet();
+                } catch (Exception ignored) {
+                }
+                latch.countDown();
+            });
+        }
+
+        startLatch.countDown();
+        latch.await();
+        executorService.shutdown();
+
+        // then: 샤드별 용량을 넘지 않고, 합계가 총 발급 수량과 같다
+        int issuedTotal = 0;
+        for (int shard = 0; shard < shards; shard++) {
+            String value = redisTemplate.opsForValue()
+                    .get(ShardedStockCounter.shardKey("coupon_count:" + code, shard));
+            int issued = value == null ? 0 : Integer.parseInt(value);
+            assertTrue(issued <= ShardedStockCounter.capacity(totalQuantity, shards, shard));
+            issuedTotal += issued;
+        }
+        assertEquals(totalQuantity, successCount.get());
+        assertEquals(totalQuantity, issuedTotal);
+    }
+
+    @Test
+    void 조건부_UPDATE로_동시에_총_발급_수량까지만_발급된다() throws InterruptedException {
+        // given
+        Coupon coupon = getCoupon();
+
+        // when
+        long elapsed = issueConcurrently(coupon.getCode(), couponService::issueCouponWithConditionalUpdate);
+
+        // then
+        assertEquals(coupon.getTotalQuantity(), issuedCouponRepository.countByCouponId(coupon.getId()));
+        assertEquals(0, couponRepository.findById(coupon.getId()).orElseThrow().getRemainingQuantity());
+        log.info("조건부 UPDATE: {}ms", TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    @Test
+    void 조건부_UPDATE와_비관적_락의_처리량을_비교한다() throws InterruptedException {
+        // given
+        Coupon conditionalCoupon = getCoupon();
+        Coupon pessimisticCoupon = getCoupon();
+
+        // when
+        long conditional = issueConcurrently(conditionalCoupon.getCode(),
+                couponService::issueCouponWithConditionalUpdate);
+        long pessimistic = issueConcurrently(pessimisticCoupon.getCode(),
+                couponService::issueCouponWithPessimisticWrite);
+
+        // then
+        assertEquals(conditionalCoupon.getTotalQuantity(),
+                issuedCouponRepository.countByCouponId(conditionalCoupon.getId()));
+        assertEquals(pessimisticCoupon.getTotalQuantity(),
+                issuedCouponRepository.countByCouponId(pessimisticCoupon.getId()));
+        log.info("[요청 {}건] 조건부 UPDATE: {} req/s, 비관적 락: {} req/s", TOTAL_USERS,
+                TOTAL_USERS * 1_000_000_000L / conditional, TOTAL_USERS * 1_000_000_000L / pessimistic);
+    }
+
+    //TOTAL_USERS명이 THREAD_COUNT개 스레드로 동시에 발급을 요청하고 전체 소요 시간(ns)을 반환
+    private long issueConcurrently(String code, Consumer<CouponIssue> issue) throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch latch = new CountDownLatch(TOTAL_USERS);
+
+        for (int i = 1; i <= TOTAL_USERS; i++) {
+            CouponIssue couponIssue = new CouponIssue(code, "test" + i + "@test.com");
+            executorService.execute(() -> {
+                try {
+                    startLatch.await();
+                    issue.accept(couponIssue);
+                } catch (Exception ignored) {
+                }
+                latch.countDown();
+            });
+        }
+
+        long start = System.nanoTime();
+        startLatch.countDown();
+        latch.await();
+        long elapsed = System.nanoTime() - start;
+        executorService.shutdown();
+        return elapsed;
+    }
+}
@@ -0,0 +1,92 @@
+package com.firstcoupon.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.firstcoupon.domain.Coupon;
+import com.firstcoupon.domain.CouponIssuedEvent;
+import com.firstcoupon.domain.IssuedCoupon;
+import com.firstcoupon.dto.DlqReplayRequest;
+import com.firstcoupon.dto.DlqReplayStatus;
+import com.firstcoupon.repository.CouponRepository;
+import com.firstcoupon.repository.IssuedCouponRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class DlqReplayServiceTest {
+
+    private static final String DLQ_TOPIC = "coupon-issued-dlq";
+    private static final int NEW_RECORDS = 4;
+
+    @Autowired
+    private DlqReplayService dlqReplayService;
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private IssuedCouponRepository issuedCouponRepository;
+
+    @BeforeEach
+    void clean() {
+        issuedCouponRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        issuedCouponRepository.deleteAll();
+        couponRepository.deleteAll();
+    }
+
+    @Test
+    void DLQ_레코드를_다시_저장하고_이미_저장된_발급은_건너뛴다() throws Exception {
+        // given
+        Coupon coupon = couponRepository.save(Coupon.create("DLQ 쿠폰 " + UUID.randomUUID(), 100,
+                LocalDate.now().plusDays(7), LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1)));
+        String issuedEmail = "issued-" + UUID.randomUUID() + "@test.com";
+        issuedCouponRepository.save(IssuedCoupon.issue(issuedEmail, coupon));  //이미 저장된 발급
+
+        long fromOffset = send(issuedEmail, coupon.getId());
+        long toOffset = fromOffset;
+        for (int i = 0; i < NEW_RECORDS; i++) {
+            toOffset = send("replay-" + i + "-" + UUID.randomUUID() + "@test.com", coupon.getId());
+        }
+
+        // when
+        dlqReplayService.start(new DlqReplayRequest(null, null, 0, fromOffset, toOffset, 10_000));
+
+        // then
+        Awaitility.await()
+                .atMost(30, TimeUnit.SECONDS)
+                .pollInterval(100, TimeUnit.MILLISECONDS)
+                .until(() -> !DlqReplayStatus.RUNNING.equals(dlqReplayService.getStatus().getState()));
+
+        DlqReplayStatus status = dlqReplayService.getStatus();
+        assertEquals(DlqReplayStatus.COMPLETED, status.getState());
+        assertEquals(NEW_RECORDS + 1, status.getTarget());
+        assertEquals(NEW_RECORDS + 1, status.getProcessed());
+        assertEquals(NEW_RECORDS, status.getInserted());
+        assertEquals(1, status.getSkipped());
+    }
+
+    private long send(String email, Long couponId) throws Exception {  //파티션 0에 기록하고 오프셋 반환
+        return kafkaTemplate.send(DLQ_TOPIC, 0, email, new CouponIssuedEvent(email, couponId))
+                .get(10, TimeUnit.SECONDS)
+                .getRecordMetadata()
+                .offset();
+    }
+}
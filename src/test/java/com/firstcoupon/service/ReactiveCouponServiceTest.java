@@ -0,0 +1,115 @@
+package com.firstcoupon.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.firstcoupon.domain.Coupon;
+import com.firstcoupon.dto.CouponIssue;
+import com.firstcoupon.exception.CouponAlreadyIssued;
+import com.firstcoupon.exception.CouponSoldOut;
+import com.firstcoupon.redis.CouponSoldOutRegistry;
+import com.firstcoupon.repository.CouponRepository;
+import com.firstcoupon.repository.IssuedCouponRepository;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@SpringBootTest
+@ActiveProfiles({"test", "reactive"})
+class ReactiveCouponServiceTest {
+
+    private static final int TOTAL_USERS = 1000;
+
+    @Autowired
+    private ReactiveCouponService reactiveCouponService;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private IssuedCouponRepository issuedCouponRepository;
+
+    @Autowired
+    private CouponSoldOutRegistry couponSoldOutRegistry;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @BeforeEach
+    void clean() {
+        issuedCouponRepository.deleteAll();
+        redisTemplate.getConnectionFactory().getConnection().serverCommands().flushAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        couponRepository.deleteAll();
+    }
+
+    private Coupon getCoupon() {
+        Coupon coupon = Coupon.create(
+                "리액티브 쿠폰 " + UUID.randomUUID(),
+                100,
+                LocalDate.now().plusDays(7),
+                LocalDateTime.now().minusHours(1),
+                LocalDateTime.now().plusHours(1));
+        couponRepository.save(coupon);
+        return coupon;
+    }
+
+    @Test
+    void 동시에_총_발급_수량까지만_발급된다() {
+        // given
+        Coupon coupon = getCoupon();
+        int totalQuantity = coupon.getTotalQuantity();
+
+        // when
+        Flux.range(1, TOTAL_USERS)
+                .flatMap(i -> reactiveCouponService.issueCoupon(new CouponIssue(coupon.getCode(), "test" + i + "@email.com"))
+                        .onErrorResume(e -> Mono.empty()), 100)
+                .blockLast(Duration.ofSeconds(30));
+
+        Awaitility.await()
+                .atMost(10, TimeUnit.SECONDS)
+                .pollInterval(100, TimeUnit.MILLISECONDS)
+                .until(() -> issuedCouponRepository.count() == totalQuantity);
+
+        // then
+        assertEquals(totalQuantity, issuedCouponRepository.count());
+    }
+
+    @Test
+    void 이미_발급받은_사용자는_다시_발급받을_수없다() {
+        // given
+        CouponIssue couponIssue = new CouponIssue(getCoupon().getCode(), "test@test.com");
+        reactiveCouponService.issueCoupon(couponIssue).block(Duration.ofSeconds(10));
+
+        // expected
+        assertThrows(CouponAlreadyIssued.class,
+                () -> reactiveCouponService.issueCoupon(couponIssue).block(Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void 소진된_쿠폰은_Redis_조회_없이_거절된다() {
+        // given
+        Coupon coupon = getCoupon();
+        couponSoldOutRegistry.markSoldOut(coupon.getCode());
+
+        // expected
+        assertThrows(CouponSoldOut.class,
+                () -> reactiveCouponService.issueCoupon(new CouponIssue(coupon.getCode(), "test@test.com"))
+                        .block(Duration.ofSeconds(10)));
+    }
+}